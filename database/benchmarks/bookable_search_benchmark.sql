@@ -0,0 +1,222 @@
+-- ============================================================================
+-- UniCovoit - Bookable ride search benchmark
+-- Measures how many rows a search stops loading once it only returns bookable
+-- rides (status = 'PUBLISHED' AND seats_available > 0), and compares the former
+-- idx_search with the status-leading one from unicovoit_schema_with_data.sql.
+-- MySQL 8.0.18+ (EXPLAIN ANALYZE). Runs in its own database, ~1-2 min to seed.
+-- On MariaDB, use ANALYZE FORMAT=JSON instead of EXPLAIN ANALYZE; Innodb_rows_read
+-- is global there, so count Handler_read_key + Handler_read_next from
+-- information_schema.SESSION_STATUS instead.
+--
+--   mysql -u root -p < database/benchmarks/bookable_search_benchmark.sql
+-- ============================================================================
+
+DROP DATABASE IF EXISTS unicovoit_bench_bookable;
+CREATE DATABASE unicovoit_bench_bookable
+    CHARACTER SET utf8mb4
+    COLLATE utf8mb4_unicode_ci;
+
+USE unicovoit_bench_bookable;
+
+-- Same columns as unicovoit.ride, without foreign keys, with both index designs
+CREATE TABLE ride (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    driver_id BIGINT NOT NULL,
+    departure_city VARCHAR(150) NOT NULL,
+    departure_city_key VARCHAR(150) NOT NULL,
+    arrival_city VARCHAR(150) NOT NULL,
+    arrival_city_key VARCHAR(150) NOT NULL,
+    departure_datetime DATETIME NOT NULL,
+    price_per_seat DECIMAL(8,2) NOT NULL,
+    seats_available INT NOT NULL,
+    preference_flags TINYINT UNSIGNED NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+
+    INDEX idx_search_previous (departure_city_key, arrival_city_key, departure_datetime, status, preference_flags),
+    INDEX idx_search (status, departure_city_key, arrival_city_key, departure_datetime,
+                      preference_flags, seats_available, price_per_seat)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE city (
+    id INT PRIMARY KEY,
+    name VARCHAR(150) NOT NULL,
+    name_key VARCHAR(150) NOT NULL
+);
+
+INSERT INTO city (id, name, name_key) VALUES
+(0, 'Paris', 'paris'), (1, 'Lyon', 'lyon'), (2, 'Marseille', 'marseille'),
+(3, 'Toulouse', 'toulouse'), (4, 'Nice', 'nice'), (5, 'Nantes', 'nantes'),
+(6, 'Montpellier', 'montpellier'), (7, 'Strasbourg', 'strasbourg'),
+(8, 'Bordeaux', 'bordeaux'), (9, 'Lille', 'lille'), (10, 'Rennes', 'rennes'),
+(11, 'Reims', 'reims'), (12, 'Saint-Étienne', 'saint etienne'),
+(13, 'Le Havre', 'le havre'), (14, 'Toulon', 'toulon'), (15, 'Grenoble', 'grenoble'),
+(16, 'Dijon', 'dijon'), (17, 'Angers', 'angers'), (18, 'Nîmes', 'nimes'),
+(19, 'Villeurbanne', 'villeurbanne');
+
+CREATE TABLE digit (d INT PRIMARY KEY);
+INSERT INTO digit VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+-- ----------------------------------------------------------------------------
+-- Seed 1,000,000 rides spread over 20 cities and 120 days.
+-- Unlike ride_search_benchmark.sql, status and seats are hashed (CRC32) so they
+-- do not depend on the route or the day, in production-like proportions:
+-- 75% PUBLISHED, 15% COMPLETED, 10% CANCELLED, and a quarter of rides full.
+-- ----------------------------------------------------------------------------
+INSERT INTO ride (driver_id, departure_city, departure_city_key, arrival_city, arrival_city_key,
+                  departure_datetime, price_per_seat, seats_available, preference_flags, status)
+SELECT n % 5000 + 1,
+       dep.name, dep.name_key,
+       arr.name, arr.name_key,
+       TIMESTAMP('2026-01-01 06:00:00') + INTERVAL (n % 120) DAY + INTERVAL (n % 16) HOUR,
+       10 + n % 30,
+       IF(CRC32(CONCAT('seats', n)) % 4 = 0, 0, 1 + CRC32(CONCAT('left', n)) % 4),
+       CRC32(CONCAT('flags', n)) % 8,
+       CASE
+           WHEN CRC32(CONCAT('status', n)) % 100 < 75 THEN 'PUBLISHED'
+           WHEN CRC32(CONCAT('status', n)) % 100 < 90 THEN 'COMPLETED'
+           ELSE 'CANCELLED'
+       END
+FROM (
+    SELECT a.d + 10 * b.d + 100 * c.d + 1000 * e.d + 10000 * f.d + 100000 * g.d AS n
+    FROM digit a, digit b, digit c, digit e, digit f, digit g
+) seq
+JOIN city dep ON dep.id = seq.n % 20
+JOIN city arr ON arr.id = (seq.n % 20 + 1 + (seq.n DIV 20) % 19) % 20;
+
+ANALYZE TABLE ride;
+
+SELECT CONCAT('Seeded rides: ', COUNT(*)) AS summary FROM ride;
+
+SELECT status,
+       COUNT(*) AS rides,
+       SUM(seats_available = 0) AS full_rides
+FROM ride
+GROUP BY status;
+
+-- ----------------------------------------------------------------------------
+-- Rows per search: every (departure, arrival, day) searched once, as findRidesByCityKeys
+-- returned them before (all statuses, full rides included) and after
+-- ----------------------------------------------------------------------------
+SELECT '=== Rows loaded per route-day search ===' AS '';
+SELECT COUNT(DISTINCT departure_city_key, arrival_city_key, DATE(departure_datetime)) AS searches,
+       ROUND(COUNT(*)
+             / COUNT(DISTINCT departure_city_key, arrival_city_key, DATE(departure_datetime)), 1)
+           AS rows_per_search_before,
+       ROUND(SUM(status = 'PUBLISHED' AND seats_available > 0)
+             / COUNT(DISTINCT departure_city_key, arrival_city_key, DATE(departure_datetime)), 1)
+           AS rows_per_search_after,
+       ROUND(100 * (1 - SUM(status = 'PUBLISHED' AND seats_available > 0) / COUNT(*)), 1)
+           AS pct_rows_saved
+FROM ride;
+
+-- ----------------------------------------------------------------------------
+-- BEFORE: no status or seat predicate, previous idx_search
+-- ----------------------------------------------------------------------------
+SELECT '=== BEFORE: every status, previous idx_search ===' AS '';
+EXPLAIN ANALYZE
+SELECT *
+FROM ride r FORCE INDEX (idx_search_previous)
+WHERE r.departure_city_key LIKE CONCAT('paris', '%')
+  AND r.arrival_city_key LIKE CONCAT('lyon', '%')
+  AND r.departure_datetime BETWEEN '2026-02-10 00:00:00' AND '2026-02-10 23:59:59'
+  AND r.preference_flags IN (0, 1, 2, 3, 4, 5, 6, 7)
+ORDER BY r.departure_datetime ASC;
+
+-- ----------------------------------------------------------------------------
+-- Bookable predicate on the previous index: status is checked in the index (ICP),
+-- seats_available only after reading the row
+-- ----------------------------------------------------------------------------
+SELECT '=== Bookable only, previous idx_search ===' AS '';
+EXPLAIN ANALYZE
+SELECT *
+FROM ride r FORCE INDEX (idx_search_previous)
+WHERE r.status = 'PUBLISHED'
+  AND r.departure_city_key LIKE CONCAT('paris', '%')
+  AND r.arrival_city_key LIKE CONCAT('lyon', '%')
+  AND r.departure_datetime BETWEEN '2026-02-10 00:00:00' AND '2026-02-10 23:59:59'
+  AND r.preference_flags IN (0, 1, 2, 3, 4, 5, 6, 7)
+  AND r.seats_available >= 1
+ORDER BY r.departure_datetime ASC;
+
+-- ----------------------------------------------------------------------------
+-- AFTER: RideDao.findRidesByCityKeys on the status-leading idx_search:
+-- the range only covers PUBLISHED entries and full rides are rejected in the index
+-- ----------------------------------------------------------------------------
+SELECT '=== AFTER: bookable only, status-leading idx_search ===' AS '';
+EXPLAIN ANALYZE
+SELECT *
+FROM ride r FORCE INDEX (idx_search)
+WHERE r.status = 'PUBLISHED'
+  AND r.departure_city_key LIKE CONCAT('paris', '%')
+  AND r.arrival_city_key LIKE CONCAT('lyon', '%')
+  AND r.departure_datetime BETWEEN '2026-02-10 00:00:00' AND '2026-02-10 23:59:59'
+  AND r.preference_flags IN (0, 1, 2, 3, 4, 5, 6, 7)
+  AND r.seats_available >= 1
+ORDER BY r.departure_datetime ASC;
+
+-- RideDao.streamCandidatesByCityKeys over a week: covered by idx_search ("Using index", no row lookups)
+SELECT '=== AFTER: ranked candidates over a week, covering idx_search ===' AS '';
+EXPLAIN
+SELECT r.id, r.departure_datetime, r.price_per_seat, r.seats_available
+FROM ride r FORCE INDEX (idx_search)
+WHERE r.status = 'PUBLISHED'
+  AND r.departure_city_key LIKE CONCAT('paris', '%')
+  AND r.arrival_city_key LIKE CONCAT('lyon', '%')
+  AND r.departure_datetime BETWEEN '2026-02-07 00:00:00' AND '2026-02-13 23:59:59'
+  AND r.preference_flags IN (0, 1, 2, 3, 4, 5, 6, 7)
+  AND r.seats_available >= 1
+  AND r.price_per_seat <= 30;
+
+-- ----------------------------------------------------------------------------
+-- Storage engine reads over every Paris -> Lyon day (120 searches)
+-- Innodb_rows_read counts the rows handed to the server, i.e. the rows loaded
+-- ----------------------------------------------------------------------------
+DELIMITER //
+CREATE PROCEDURE count_reads(IN bookable_only BOOLEAN)
+BEGIN
+    DECLARE day_offset INT DEFAULT 0;
+    DECLARE found INT;
+    DECLARE loaded INT DEFAULT 0;
+    DECLARE rows_before BIGINT;
+    DECLARE started DATETIME(6) DEFAULT NOW(6);
+
+    SELECT VARIABLE_VALUE INTO rows_before
+    FROM performance_schema.session_status
+    WHERE VARIABLE_NAME = 'Innodb_rows_read';
+
+    WHILE day_offset < 120 DO
+        IF bookable_only THEN
+            SELECT COUNT(r.driver_id) INTO found
+            FROM ride r FORCE INDEX (idx_search)
+            WHERE r.status = 'PUBLISHED'
+              AND r.departure_city_key LIKE CONCAT('paris', '%')
+              AND r.arrival_city_key LIKE CONCAT('lyon', '%')
+              AND r.departure_datetime BETWEEN TIMESTAMP('2026-01-01') + INTERVAL day_offset DAY
+                  AND TIMESTAMP('2026-01-01 23:59:59') + INTERVAL day_offset DAY
+              AND r.preference_flags IN (0, 1, 2, 3, 4, 5, 6, 7)
+              AND r.seats_available >= 1;
+        ELSE
+            SELECT COUNT(r.driver_id) INTO found
+            FROM ride r FORCE INDEX (idx_search_previous)
+            WHERE r.departure_city_key LIKE CONCAT('paris', '%')
+              AND r.arrival_city_key LIKE CONCAT('lyon', '%')
+              AND r.departure_datetime BETWEEN TIMESTAMP('2026-01-01') + INTERVAL day_offset DAY
+                  AND TIMESTAMP('2026-01-01 23:59:59') + INTERVAL day_offset DAY
+              AND r.preference_flags IN (0, 1, 2, 3, 4, 5, 6, 7);
+        END IF;
+        SET loaded = loaded + found;
+        SET day_offset = day_offset + 1;
+    END WHILE;
+
+    SELECT IF(bookable_only, 'bookable, status-leading idx_search (after)',
+                             'every status, previous idx_search (before)') AS search,
+           ROUND(loaded / 120, 1) AS rows_returned_per_search,
+           ROUND(((SELECT VARIABLE_VALUE
+                   FROM performance_schema.session_status
+                   WHERE VARIABLE_NAME = 'Innodb_rows_read') - rows_before) / 120, 1) AS rows_read_per_search,
+           ROUND(TIMESTAMPDIFF(MICROSECOND, started, NOW(6)) / 120 / 1000, 3) AS avg_ms;
+END //
+DELIMITER ;
+
+CALL count_reads(FALSE);
+CALL count_reads(TRUE);
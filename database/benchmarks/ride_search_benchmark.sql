@@ -0,0 +1,143 @@
+-- ============================================================================
+-- UniCovoit - Ride search benchmark
+-- Compares the legacy substring search (LOWER(city) LIKE '%x%') with the
+-- normalized city key search served by idx_search.
+-- MySQL 8.0.18+ (EXPLAIN ANALYZE). Runs in its own database, ~1-2 min to seed.
+--
+--   mysql -u root -p < database/benchmarks/ride_search_benchmark.sql
+-- ============================================================================
+
+DROP DATABASE IF EXISTS unicovoit_bench;
+CREATE DATABASE unicovoit_bench
+    CHARACTER SET utf8mb4
+    COLLATE utf8mb4_unicode_ci;
+
+USE unicovoit_bench;
+
+-- Same columns and search indexes as unicovoit.ride, without foreign keys
+CREATE TABLE ride (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    driver_id BIGINT NOT NULL,
+    departure_city VARCHAR(150) NOT NULL,
+    departure_city_key VARCHAR(150) NOT NULL,
+    arrival_city VARCHAR(150) NOT NULL,
+    arrival_city_key VARCHAR(150) NOT NULL,
+    departure_datetime DATETIME NOT NULL,
+    price_per_seat DECIMAL(8,2) NOT NULL,
+    seats_available INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+
+    INDEX idx_search_legacy (departure_city, arrival_city, departure_datetime, status),
+    INDEX idx_search (departure_city_key, arrival_city_key, departure_datetime, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE city (
+    id INT PRIMARY KEY,
+    name VARCHAR(150) NOT NULL,
+    name_key VARCHAR(150) NOT NULL
+);
+
+INSERT INTO city (id, name, name_key) VALUES
+(0, 'Paris', 'paris'), (1, 'Lyon', 'lyon'), (2, 'Marseille', 'marseille'),
+(3, 'Toulouse', 'toulouse'), (4, 'Nice', 'nice'), (5, 'Nantes', 'nantes'),
+(6, 'Montpellier', 'montpellier'), (7, 'Strasbourg', 'strasbourg'),
+(8, 'Bordeaux', 'bordeaux'), (9, 'Lille', 'lille'), (10, 'Rennes', 'rennes'),
+(11, 'Reims', 'reims'), (12, 'Saint-Étienne', 'saint etienne'),
+(13, 'Le Havre', 'le havre'), (14, 'Toulon', 'toulon'), (15, 'Grenoble', 'grenoble'),
+(16, 'Dijon', 'dijon'), (17, 'Angers', 'angers'), (18, 'Nîmes', 'nimes'),
+(19, 'Villeurbanne', 'villeurbanne');
+
+CREATE TABLE digit (d INT PRIMARY KEY);
+INSERT INTO digit VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+-- ----------------------------------------------------------------------------
+-- Seed 1,000,000 rides spread over 20 cities and 120 days
+-- ----------------------------------------------------------------------------
+INSERT INTO ride (driver_id, departure_city, departure_city_key, arrival_city, arrival_city_key,
+                  departure_datetime, price_per_seat, seats_available, status)
+SELECT n % 5000 + 1,
+       dep.name, dep.name_key,
+       arr.name, arr.name_key,
+       TIMESTAMP('2026-01-01 06:00:00') + INTERVAL (n % 120) DAY + INTERVAL (n % 16) HOUR,
+       10 + n % 30,
+       n % 5,
+       ELT(1 + n % 10, 'PUBLISHED', 'PUBLISHED', 'PUBLISHED', 'PUBLISHED', 'PUBLISHED',
+                       'PUBLISHED', 'PUBLISHED', 'COMPLETED', 'COMPLETED', 'CANCELLED')
+FROM (
+    SELECT a.d + 10 * b.d + 100 * c.d + 1000 * e.d + 10000 * f.d + 100000 * g.d AS n
+    FROM digit a, digit b, digit c, digit e, digit f, digit g
+) seq
+JOIN city dep ON dep.id = seq.n % 20
+JOIN city arr ON arr.id = (seq.n % 20 + 1 + (seq.n DIV 20) % 19) % 20;
+
+ANALYZE TABLE ride;
+
+SELECT CONCAT('Seeded rides: ', COUNT(*)) AS summary FROM ride;
+
+-- ----------------------------------------------------------------------------
+-- BEFORE: the former RideDao.findRides (leading wildcard, full scan)
+-- ----------------------------------------------------------------------------
+SELECT '=== BEFORE: substring LIKE on departure_city / arrival_city ===' AS '';
+EXPLAIN ANALYZE
+SELECT *
+FROM ride r
+WHERE LOWER(r.departure_city) LIKE LOWER(CONCAT('%', 'Paris', '%'))
+  AND LOWER(r.arrival_city) LIKE LOWER(CONCAT('%', 'Lyon', '%'))
+  AND r.departure_datetime BETWEEN '2026-02-10 00:00:00' AND '2026-02-10 23:59:59';
+
+-- ----------------------------------------------------------------------------
+-- AFTER: RideDao.findRidesByCityKeys (prefix on normalized keys, idx_search)
+-- ----------------------------------------------------------------------------
+SELECT '=== AFTER: prefix match on departure_city_key / arrival_city_key ===' AS '';
+EXPLAIN ANALYZE
+SELECT *
+FROM ride r
+WHERE r.departure_city_key LIKE CONCAT('paris', '%')
+  AND r.arrival_city_key LIKE CONCAT('lyon', '%')
+  AND r.departure_datetime BETWEEN '2026-02-10 00:00:00' AND '2026-02-10 23:59:59'
+ORDER BY r.departure_datetime ASC;
+
+SELECT '=== AFTER: accent-insensitive lookup ("Saint-Étienne" typed as "saint etienne") ===' AS '';
+EXPLAIN ANALYZE
+SELECT *
+FROM ride r
+WHERE r.departure_city_key LIKE CONCAT('saint etienne', '%')
+  AND r.arrival_city_key LIKE CONCAT('lyon', '%')
+  AND r.departure_datetime BETWEEN '2026-02-10 00:00:00' AND '2026-02-10 23:59:59'
+ORDER BY r.departure_datetime ASC;
+
+-- ----------------------------------------------------------------------------
+-- Wall-clock latency, 20 repetitions of each search
+-- ----------------------------------------------------------------------------
+DELIMITER //
+CREATE PROCEDURE time_search(IN use_keys BOOLEAN, IN repetitions INT)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE found INT;
+    DECLARE started DATETIME(6) DEFAULT NOW(6);
+
+    WHILE i < repetitions DO
+        IF use_keys THEN
+            SELECT COUNT(*) INTO found
+            FROM ride r
+            WHERE r.departure_city_key LIKE CONCAT('paris', '%')
+              AND r.arrival_city_key LIKE CONCAT('lyon', '%')
+              AND r.departure_datetime BETWEEN '2026-02-10 00:00:00' AND '2026-02-10 23:59:59';
+        ELSE
+            SELECT COUNT(*) INTO found
+            FROM ride r
+            WHERE LOWER(r.departure_city) LIKE LOWER(CONCAT('%', 'Paris', '%'))
+              AND LOWER(r.arrival_city) LIKE LOWER(CONCAT('%', 'Lyon', '%'))
+              AND r.departure_datetime BETWEEN '2026-02-10 00:00:00' AND '2026-02-10 23:59:59';
+        END IF;
+        SET i = i + 1;
+    END WHILE;
+
+    SELECT IF(use_keys, 'city keys (after)', 'substring LIKE (before)') AS search,
+           found AS rows_returned,
+           ROUND(TIMESTAMPDIFF(MICROSECOND, started, NOW(6)) / repetitions / 1000, 3) AS avg_ms;
+END //
+DELIMITER ;
+
+CALL time_search(FALSE, 20);
+CALL time_search(TRUE, 20);
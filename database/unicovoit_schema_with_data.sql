@@ -61,8 +61,13 @@ CREATE TABLE ride (
     driver_id BIGINT NOT NULL,
     vehicle_id BIGINT,
     departure_city VARCHAR(150) NOT NULL,
+    departure_city_key VARCHAR(150) NOT NULL DEFAULT '',
+    -- Coordinates come from the bundled gazetteer (NULL for unknown cities)
+    departure_latitude DOUBLE DEFAULT NULL,
+    departure_longitude DOUBLE DEFAULT NULL,
     departure_address VARCHAR(255),
     arrival_city VARCHAR(150) NOT NULL,
+    arrival_city_key VARCHAR(150) NOT NULL DEFAULT '',
     arrival_address VARCHAR(255),
     departure_datetime DATETIME NOT NULL,
     duration_minutes INT,
@@ -73,6 +78,8 @@ CREATE TABLE ride (
     music_enabled TINYINT(1) NOT NULL DEFAULT 0,
     pets_allowed TINYINT(1) NOT NULL DEFAULT 0,
     smoking_allowed TINYINT(1) NOT NULL DEFAULT 0,
+    -- music_enabled | pets_allowed << 1 | smoking_allowed << 2, kept in sync by the application
+    preference_flags TINYINT UNSIGNED NOT NULL DEFAULT 0,
     status VARCHAR(20) NOT NULL DEFAULT 'PUBLISHED',
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME DEFAULT NULL ON UPDATE CURRENT_TIMESTAMP,
@@ -84,8 +91,31 @@ CREATE TABLE ride (
     INDEX idx_departure_city (departure_city),
     INDEX idx_arrival_city (arrival_city),
     INDEX idx_departure_datetime (departure_datetime),
-    INDEX idx_status (status),
-    INDEX idx_search (departure_city, arrival_city, departure_datetime, status)
+    -- Searches only return bookable rides (status = 'PUBLISHED' AND seats_available > 0).
+    -- MySQL has no partial index, so status leads as an equality prefix (it also serves the status-only
+    -- lookups idx_status did) and the range starts at the normalized city keys (lower-case, no accents, trimmed).
+    -- preference_flags (IN list of accepted masks) and seats_available are filtered in the index (ICP)
+    -- before any row is read; with price_per_seat the index also covers the ranked candidate scan.
+    -- See database/benchmarks/bookable_search_benchmark.sql
+    INDEX idx_search (status, departure_city_key, arrival_city_key, departure_datetime,
+                      preference_flags, seats_available, price_per_seat)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================================================
+-- TABLE: ride_waypoint
+-- Intermediate cities of a ride, in route order (position 0 = first stop
+-- after the departure city). Searched in memory by RideSearchIndex, and by
+-- the SQL fallback through idx_city_key (prefix range on the normalized key).
+-- ============================================================================
+CREATE TABLE ride_waypoint (
+    ride_id BIGINT NOT NULL,
+    position INT NOT NULL,
+    city VARCHAR(150) NOT NULL,
+    city_key VARCHAR(150) NOT NULL,
+
+    PRIMARY KEY (ride_id, position),
+    FOREIGN KEY (ride_id) REFERENCES ride(id) ON DELETE CASCADE,
+    INDEX idx_city_key (city_key)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- ============================================================================
@@ -104,7 +134,7 @@ CREATE TABLE booking (
     FOREIGN KEY (ride_id) REFERENCES ride(id) ON DELETE CASCADE,
     FOREIGN KEY (passenger_id) REFERENCES user_account(id) ON DELETE CASCADE,
     INDEX idx_ride (ride_id),
-    INDEX idx_passenger (passenger_id),
+    INDEX idx_passenger_created (passenger_id, created_at),
     INDEX idx_status (status),
     UNIQUE KEY uk_passenger_ride (passenger_id, ride_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -126,9 +156,9 @@ CREATE TABLE message (
     FOREIGN KEY (receiver_id) REFERENCES user_account(id) ON DELETE CASCADE,
     FOREIGN KEY (ride_id) REFERENCES ride(id) ON DELETE SET NULL,
     INDEX idx_sender (sender_id),
-    INDEX idx_receiver (receiver_id),
     INDEX idx_ride (ride_id),
-    INDEX idx_conversation (sender_id, receiver_id),
+    INDEX idx_conversation (sender_id, receiver_id, sent_at),
+    INDEX idx_inbox (receiver_id, sender_id, sent_at),
     INDEX idx_unread (receiver_id, is_read, sent_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -241,6 +271,13 @@ INSERT INTO ride (driver_id, vehicle_id, departure_city, departure_address, arri
  '2025-12-12 14:00:00', 150, 17.00, 3, 3,
  'Trajet annulé - voiture en panne.', 0, 0, 0, 'CANCELLED', '2025-12-06 12:00:00');
 
+-- Search keys and preference flags for the seeded rides (city names above are already accent-free)
+UPDATE ride
+SET departure_city_key = LOWER(TRIM(departure_city)),
+    arrival_city_key = LOWER(TRIM(arrival_city)),
+    preference_flags = music_enabled | (pets_allowed << 1) | (smoking_allowed << 2)
+WHERE id > 0;
+
 -- ----------------------------------------------------------------------------
 -- BOOKINGS (8 bookings with different statuses)
 -- ----------------------------------------------------------------------------
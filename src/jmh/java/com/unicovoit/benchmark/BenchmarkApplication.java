@@ -0,0 +1,61 @@
+package com.unicovoit.benchmark;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Headless Spring context for the benchmarks: services, DAOs and entities on an in-memory H2 database in MySQL mode.
+ * No Vaadin or servlet container is started; the Vaadin and Hilla auto-configurations need a servlet context, so they
+ * are excluded.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(excludeName = {
+        "com.vaadin.flow.spring.SpringBootAutoConfiguration",
+        "com.vaadin.flow.spring.SpringSecurityAutoConfiguration",
+        "com.vaadin.flow.spring.VaadinScopesConfig",
+        "com.vaadin.hilla.EndpointController",
+        "com.vaadin.hilla.push.PushConfigurer",
+        "com.vaadin.hilla.ApplicationContextProvider",
+        "com.vaadin.hilla.startup.EndpointRegistryInitializer",
+        "com.vaadin.hilla.startup.RouteUnifyingServiceInitListener",
+        "com.vaadin.hilla.route.RouteUtil",
+        "com.vaadin.hilla.route.RouteUnifyingConfiguration",
+        "com.vaadin.hilla.signals.config.SignalsConfiguration"})
+@EntityScan("com.unicovoit.entity")
+@EnableJpaRepositories("com.unicovoit.dao")
+@ComponentScan({"com.unicovoit.service", "com.unicovoit.benchmark"})
+public class BenchmarkApplication {
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    /**
+     * Start the context; BenchmarkDataSeeder fills the database before the ride search index is built
+     */
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                        "spring.main.banner-mode", "off",
+                        "spring.datasource.url", "jdbc:h2:mem:unicovoit-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username", "sa",
+                        "spring.datasource.password", "",
+                        "spring.jpa.hibernate.ddl-auto", "create-drop",
+                        "spring.jpa.open-in-view", "false",
+                        "logging.level.root", "WARN"))
+                .run();
+    }
+}
@@ -0,0 +1,184 @@
+package com.unicovoit.benchmark;
+
+import com.unicovoit.entity.Ride;
+import com.unicovoit.util.CityNormalizer;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the benchmark database with plain JDBC batches. Generated ids follow insertion order (1..n),
+ * which the helpers below rely on.
+ * Scale is read from system properties: bench.users, bench.vehicles, bench.rides, bench.bookings, bench.messages.
+ *
+ * Rides in the first half are the ones that receive seeded bookings; the second half is kept free
+ * for BookingService.createBooking benchmarks.
+ */
+@Component
+public class BenchmarkDataSeeder implements CommandLineRunner {
+
+    public static final String PASSWORD = "password123";
+
+    static final String[] CITIES = {
+            "Paris", "Lyon", "Marseille", "Toulouse", "Nice", "Nantes", "Montpellier", "Strasbourg",
+            "Bordeaux", "Lille", "Rennes", "Reims", "Saint-Étienne", "Le Havre", "Toulon", "Grenoble",
+            "Dijon", "Angers", "Nîmes", "Villeurbanne"
+    };
+
+    static final int SEATS_PER_RIDE = 8;
+    static final int DAYS_AHEAD = 28;
+    private static final int BATCH_SIZE = 1000;
+
+    public static final int USERS = Integer.getInteger("bench.users", 2_000);
+    public static final int VEHICLES = Integer.getInteger("bench.vehicles", 1_000);
+    public static final int RIDES = Integer.getInteger("bench.rides", 50_000);
+    public static final int BOOKINGS = Integer.getInteger("bench.bookings", 50_000);
+    public static final int MESSAGES = Integer.getInteger("bench.messages", 200_000);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    public BenchmarkDataSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(String... args) {
+        seedUsers();
+        seedVehicles();
+        seedRides();
+        seedBookings();
+        seedMessages();
+    }
+
+    public static String email(int userId) {
+        return "student" + userId + "@bench.unicovoit.fr";
+    }
+
+    static LocalDate rideDay(int rideId) {
+        return LocalDate.now().plusDays(1 + rideId % DAYS_AHEAD);
+    }
+
+    static int departureCity(int rideId) {
+        return rideId % CITIES.length;
+    }
+
+    static int arrivalCity(int rideId) {
+        return (departureCity(rideId) + 1 + (rideId / CITIES.length) % (CITIES.length - 1)) % CITIES.length;
+    }
+
+    static int driverOf(int rideId) {
+        return 1 + (rideId - 1) % VEHICLES;
+    }
+
+    private void seedUsers() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        batch("""
+              INSERT INTO user_account (first_name, last_name, email, university, password_hash, role, created_at)
+              VALUES (?, ?, ?, ?, ?, 'STUDENT', ?)
+              """, USERS, i -> new Object[]{
+                "Prénom" + i, "Nom" + i, email(i), "Université " + (i % 20), hash, now});
+    }
+
+    private void seedVehicles() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // Vehicle i belongs to user i so every vehicle owner can drive
+        batch("""
+              INSERT INTO vehicle (owner_id, brand, model, seats_total, created_at)
+              VALUES (?, 'Renault', 'Clio', ?, ?)
+              """, VEHICLES, i -> new Object[]{i, SEATS_PER_RIDE, now});
+    }
+
+    private void seedRides() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        batch("""
+              INSERT INTO ride (driver_id, vehicle_id, departure_city, departure_city_key, arrival_city, arrival_city_key,
+                                departure_datetime, duration_minutes, price_per_seat, seats_total, seats_available,
+                                music_enabled, pets_allowed, smoking_allowed, preference_flags, status, created_at)
+              VALUES (?, ?, ?, ?, ?, ?, ?, 180, ?, ?, ?, ?, ?, FALSE, ?, 'PUBLISHED', ?)
+              """, RIDES, i -> {
+            String departure = CITIES[departureCity(i)];
+            String arrival = CITIES[arrivalCity(i)];
+            return new Object[]{
+                    driverOf(i), driverOf(i),
+                    departure, CityNormalizer.normalize(departure),
+                    arrival, CityNormalizer.normalize(arrival),
+                    Timestamp.valueOf(rideDay(i).atTime(6 + i % 16, 0)),
+                    10 + i % 30, SEATS_PER_RIDE, SEATS_PER_RIDE,
+                    i % 2 == 0, i % 3 == 0,
+                    (i % 2 == 0 ? Ride.MUSIC_FLAG : 0) | (i % 3 == 0 ? Ride.PETS_FLAG : 0),
+                    now};
+        });
+    }
+
+    private void seedBookings() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int bookableRides = Math.max(1, RIDES / 2);
+
+        // Up to SEATS_PER_RIDE distinct passengers per ride, never the driver
+        batch("""
+              INSERT INTO booking (ride_id, passenger_id, seats_booked, status, created_at)
+              VALUES (?, ?, 1, 'CONFIRMED', ?)
+              """, Math.min(BOOKINGS, bookableRides * SEATS_PER_RIDE), i -> {
+            int rideId = 1 + (i - 1) % bookableRides;
+            int slot = (i - 1) / bookableRides;
+            int passengerId = 1 + (driverOf(rideId) + slot) % USERS;
+            return new Object[]{rideId, passengerId, now};
+        });
+
+        jdbcTemplate.update("""
+                            UPDATE ride r
+                            SET seats_available = seats_total - (SELECT COUNT(*) FROM booking b WHERE b.ride_id = r.id)
+                            """);
+    }
+
+    private void seedMessages() {
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+
+        // Each user talks to ~10 partners; every 4th message is unread
+        batch("""
+              INSERT INTO message (sender_id, receiver_id, content, sent_at, is_read)
+              VALUES (?, ?, ?, ?, ?)
+              """, MESSAGES, i -> {
+            int sender = 1 + i % USERS;
+            int receiver = 1 + (sender + 1 + (i / USERS) % 10) % USERS;
+            if (receiver == sender) {
+                receiver = 1 + sender % USERS;
+            }
+            return new Object[]{
+                    sender, receiver, "Message de benchmark numéro " + i,
+                    Timestamp.valueOf(start.plusSeconds(i)), i % 4 != 0};
+        });
+    }
+
+    private void batch(String sql, int count, RowFactory rows) {
+        List<Object[]> buffer = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= count; i++) {
+            buffer.add(rows.row(i));
+            if (buffer.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, buffer);
+                buffer.clear();
+            }
+        }
+        if (!buffer.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, buffer);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowFactory {
+        Object[] row(int id);
+    }
+}
@@ -0,0 +1,52 @@
+package com.unicovoit.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt encode/matches latency per cost factor, to be run on the deployment machine.
+ *
+ * Pick the highest cost whose matches p99 (SampleTime percentiles) stays under the login latency target,
+ * then configure it on the application PasswordEncoder bean; existing hashes are upgraded on the next login.
+ * Use -t to match the hashing pool size, e.g. {@code java -cp <jmh classpath> com.unicovoit.benchmark.PasswordHashBenchmarks -t 3}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PasswordHashBenchmarks {
+
+    private static final String PASSWORD = "Un mot de passe étudiant 2024";
+
+    @Param({"10", "11", "12", "13", "14"})
+    public int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void createEncoder() {
+        encoder = new BCryptPasswordEncoder(cost);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Main.main(args.length > 0 ? args : new String[]{PasswordHashBenchmarks.class.getSimpleName()});
+    }
+}
@@ -0,0 +1,166 @@
+package com.unicovoit.benchmark;
+
+import com.unicovoit.dto.GeoPoint;
+import com.unicovoit.dto.NearbyRide;
+import com.unicovoit.dto.RideSummary;
+import com.unicovoit.entity.Ride;
+import com.unicovoit.entity.RideStatus;
+import com.unicovoit.entity.UserAccount;
+import com.unicovoit.entity.Waypoint;
+import com.unicovoit.service.CityGazetteer;
+import com.unicovoit.service.RideSearchIndex;
+import com.unicovoit.util.CityNormalizer;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.unicovoit.benchmark.BenchmarkDataSeeder.CITIES;
+import static com.unicovoit.benchmark.BenchmarkDataSeeder.DAYS_AHEAD;
+
+/**
+ * RideSearchIndex corridor search (departure and arrival matched anywhere along the route) and radius search
+ * (departures near a point, located by CityGazetteer) on in-memory rides, without Spring or a database.
+ * Each ride has 0 to 3 waypoints; cities and days follow BenchmarkDataSeeder. Compare with
+ * ServiceBenchmarks.searchRidesByCityKeysSql for the SQL equivalent.
+ *
+ * The target is a p99 (SampleTime percentiles) under one millisecond at 100k future rides:
+ * {@code java -cp <jmh classpath> com.unicovoit.benchmark.RideCorridorBenchmarks}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RideCorridorBenchmarks {
+
+    private static final int MAX_WAYPOINTS = 3;
+    private static final double RADIUS_KM = 30;
+
+    @Param({"10000", "100000"})
+    public int rides;
+
+    private RideSearchIndex index;
+    private Ride[] indexed;
+    private LocalDate firstDay;
+    private GeoPoint[] cityPoints;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        SplittableRandom random = new SplittableRandom(42);
+        firstDay = LocalDate.now().plusDays(1);
+
+        UserAccount driver = new UserAccount();
+        driver.setId(1L);
+        driver.setFirstName("Bench");
+        driver.setLastName("Driver");
+
+        indexed = new Ride[rides];
+        for (int i = 0; i < rides; i++) {
+            indexed[i] = randomRide(i + 1L, driver, random);
+        }
+
+        CityGazetteer gazetteer = new CityGazetteer();
+        cityPoints = new GeoPoint[CITIES.length];
+        for (int i = 0; i < CITIES.length; i++) {
+            cityPoints[i] = gazetteer.locate(CITIES[i]).orElseThrow();
+        }
+
+        index = new RideSearchIndex(null, gazetteer);
+        index.rebuild(List.of(indexed));
+    }
+
+    /**
+     * Endpoints of an existing ride (what the former (departure, arrival, day) buckets answered)
+     */
+    @Benchmark
+    public List<RideSummary> searchEndpoints() {
+        Ride ride = randomRide();
+        return index.search(ride.getDepartureCity(), ride.getArrivalCity(), ride.getDepartureDateTime().toLocalDate());
+    }
+
+    /**
+     * From a waypoint of an existing ride to its arrival
+     */
+    @Benchmark
+    public List<RideSummary> searchFromWaypoint() {
+        Ride ride = randomRide();
+        String from = ride.getWaypoints().isEmpty() ? ride.getDepartureCity() : ride.getWaypoints().get(0).getCity();
+        return index.search(from, ride.getArrivalCity(), ride.getDepartureDateTime().toLocalDate());
+    }
+
+    /**
+     * Any two cities on any indexed day, most often in an order no ride follows
+     */
+    @Benchmark
+    public List<RideSummary> searchRandomPair() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.search(
+                CITIES[random.nextInt(CITIES.length)],
+                CITIES[random.nextInt(CITIES.length)],
+                firstDay.plusDays(random.nextInt(DAYS_AHEAD)));
+    }
+
+    /**
+     * Departures within RADIUS_KM of a city over one day, nearest first
+     */
+    @Benchmark
+    public List<NearbyRide> searchNearDeparture() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate day = firstDay.plusDays(random.nextInt(DAYS_AHEAD));
+        return index.searchNear(cityPoints[random.nextInt(cityPoints.length)], RADIUS_KM,
+                day.atStartOfDay(), day.atTime(LocalTime.MAX));
+    }
+
+    /**
+     * Re-index a ride (a seat change or an update), replacing its postings
+     */
+    @Benchmark
+    @Threads(1)
+    public void refreshRide() {
+        index.refresh(randomRide());
+    }
+
+    private Ride randomRide() {
+        return indexed[ThreadLocalRandom.current().nextInt(indexed.length)];
+    }
+
+    private Ride randomRide(long id, UserAccount driver, SplittableRandom random) {
+        // Distinct stops: departure, waypoints, arrival
+        List<String> stops = new ArrayList<>(List.of(CITIES));
+        int stopCount = 2 + random.nextInt(MAX_WAYPOINTS + 1);
+        for (int i = 0; i < stopCount; i++) {
+            int pick = i + random.nextInt(stops.size() - i);
+            stops.set(pick, stops.set(i, stops.get(pick)));
+        }
+
+        Ride ride = new Ride();
+        ride.setId(id);
+        ride.setDriver(driver);
+        ride.setDepartureCity(stops.get(0));
+        ride.setWaypoints(stops.subList(1, stopCount - 1).stream()
+                .map(city -> new Waypoint(city, CityNormalizer.normalize(city)))
+                .collect(Collectors.toCollection(ArrayList::new)));
+        ride.setArrivalCity(stops.get(stopCount - 1));
+        ride.setDepartureDateTime(firstDay.plusDays(random.nextInt(DAYS_AHEAD)).atTime(6 + random.nextInt(16), 0));
+        ride.setSeatsTotal(4);
+        ride.setSeatsAvailable(4);
+        ride.setPricePerSeat(BigDecimal.valueOf(5 + random.nextInt(30)));
+        ride.setStatus(RideStatus.PUBLISHED);
+        return ride;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Main.main(args.length > 0 ? args : new String[]{RideCorridorBenchmarks.class.getSimpleName()});
+    }
+}
@@ -0,0 +1,243 @@
+package com.unicovoit.benchmark;
+
+import com.unicovoit.dao.RideDao;
+import com.unicovoit.dto.ConversationSummaryDto;
+import com.unicovoit.dto.CreateBookingDto;
+import com.unicovoit.dto.LoginRequestDto;
+import com.unicovoit.dto.RideSearchRequestDto;
+import com.unicovoit.dto.RideSummary;
+import com.unicovoit.dto.SessionUser;
+import com.unicovoit.entity.Booking;
+import com.unicovoit.entity.Message;
+import com.unicovoit.entity.Ride;
+import com.unicovoit.entity.UserAccount;
+import com.unicovoit.service.BookingService;
+import com.unicovoit.service.MessageService;
+import com.unicovoit.service.RideService;
+import com.unicovoit.service.UserService;
+import com.unicovoit.util.CityNormalizer;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.unicovoit.benchmark.BenchmarkDataSeeder.*;
+
+/**
+ * Baseline throughput and latency of the service hot paths on a seeded H2 (MySQL mode) database.
+ *
+ * Run with the benchmarks Maven profile described in src/jmh/README.md. Scale properties are documented on
+ * BenchmarkDataSeeder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ServiceBenchmarks {
+
+    private static final List<Integer> ALL_PREFERENCE_FLAGS = List.of(0, 1, 2, 3, 4, 5, 6, 7);
+
+    /**
+     * Bookings per createBooking iteration, well under the free seats of the default scale (25,000 rides x 8)
+     */
+    private static final int BOOKING_BATCH = 2_000;
+    private static final int FREE_RIDES = RIDES - RIDES / 2;
+
+    private ConfigurableApplicationContext context;
+    private RideService rideService;
+    private RideDao rideDao;
+    private BookingService bookingService;
+    private MessageService messageService;
+    private UserService userService;
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionUser[] users;
+    private final AtomicLong bookingSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkApplication.start();
+        rideService = context.getBean(RideService.class);
+        rideDao = context.getBean(RideDao.class);
+        bookingService = context.getBean(BookingService.class);
+        messageService = context.getBean(MessageService.class);
+        userService = context.getBean(UserService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        users = new SessionUser[USERS + 1];
+        for (int id = 1; id <= USERS; id++) {
+            users[id] = SessionUser.from(userService.getUserById((long) id));
+        }
+    }
+
+    /**
+     * Give the booking benchmark a fresh, empty half of the ride table for every iteration
+     */
+    @Setup(Level.Iteration)
+    public void resetBookableRides() {
+        if ((long) FREE_RIDES * SEATS_PER_RIDE < BOOKING_BATCH) {
+            throw new IllegalStateException("bench.rides is too small: createBooking needs "
+                    + BOOKING_BATCH + " free seats per iteration");
+        }
+
+        int firstFreeRide = RIDES / 2 + 1;
+        jdbcTemplate.update("DELETE FROM booking WHERE ride_id >= ?", firstFreeRide);
+        jdbcTemplate.update("UPDATE ride SET seats_available = seats_total WHERE id >= ?", firstFreeRide);
+        bookingSequence.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    // Ride search
+
+    @Benchmark
+    public List<RideSummary> searchRides() {
+        return rideService.searchRides(randomSearch());
+    }
+
+    @Benchmark
+    public List<Ride> searchRidesByCityKeysSql() {
+        RideSearchRequestDto dto = randomSearch();
+        return rideDao.findRidesByCityKeys(
+                CityNormalizer.normalize(dto.getDepartureCity()),
+                CityNormalizer.normalize(dto.getArrivalCity()),
+                dto.getDate().atStartOfDay(),
+                dto.getDate().plusDays(1).atStartOfDay().minusNanos(1),
+                ALL_PREFERENCE_FLAGS,
+                null,
+                1);
+    }
+
+    /**
+     * Non-smoking rides that accept pets, checked on idx_search before the rows are read
+     */
+    @Benchmark
+    public List<RideSummary> searchRidesFiltered() {
+        RideSearchRequestDto dto = randomSearch();
+        dto.setPetsAllowed(true);
+        dto.setSmokingAllowed(false);
+        dto.setMinSeats(2);
+        return rideService.searchRides(dto);
+    }
+
+    // Booking
+
+    /**
+     * A fixed batch of bookings per iteration, so that every call books a free seat: the free half of the ride
+     * table is reset before each iteration and a batch never wraps around it (which would only measure the
+     * rejection path). The score is the time of a whole batch of BOOKING_BATCH bookings.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = BOOKING_BATCH)
+    @Measurement(iterations = 5, batchSize = BOOKING_BATCH)
+    public Booking createBooking() {
+        // Each free ride takes SEATS_PER_RIDE single-seat bookings from distinct passengers per iteration
+        long sequence = bookingSequence.getAndIncrement();
+        if (sequence >= (long) FREE_RIDES * SEATS_PER_RIDE) {
+            throw new IllegalStateException("Free rides exhausted after " + sequence + " bookings in one iteration");
+        }
+        int rideId = RIDES / 2 + 1 + (int) (sequence / SEATS_PER_RIDE);
+        int passengerId = 1 + (driverOf(rideId) + 1 + (int) (sequence % SEATS_PER_RIDE)) % USERS;
+
+        CreateBookingDto dto = new CreateBookingDto();
+        dto.setRideId((long) rideId);
+        dto.setSeatsBooked(1);
+        return bookingService.createBooking(dto, users[passengerId]);
+    }
+
+    // Messages
+
+    @Benchmark
+    public List<Message> getConversation() {
+        long[] pair = randomConversation();
+        return messageService.getConversation(pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public List<Message> getConversationNewestPage() {
+        long[] pair = randomConversation();
+        return messageService.getConversationPage(pair[0], pair[1], null, 50);
+    }
+
+    /**
+     * The original MessagesView inbox: load every sent and received message and group them in Java
+     */
+    @Benchmark
+    public List<Map.Entry<Long, List<Message>>> inboxJavaGrouping() {
+        Long userId = (long) randomUser();
+
+        Map<Long, List<Message>> conversations = new HashMap<>();
+        for (Message msg : messageService.getSentMessages(userId)) {
+            conversations.computeIfAbsent(msg.getReceiver().getId(), k -> new ArrayList<>()).add(msg);
+        }
+        for (Message msg : messageService.getReceivedMessages(userId)) {
+            conversations.computeIfAbsent(msg.getSender().getId(), k -> new ArrayList<>()).add(msg);
+        }
+
+        List<Map.Entry<Long, List<Message>>> sorted = new ArrayList<>(conversations.entrySet());
+        sorted.sort((e1, e2) -> {
+            Message latest1 = e1.getValue().stream().max(Comparator.comparing(Message::getSentAt)).orElse(null);
+            Message latest2 = e2.getValue().stream().max(Comparator.comparing(Message::getSentAt)).orElse(null);
+            if (latest1 == null || latest2 == null) return 0;
+            return latest2.getSentAt().compareTo(latest1.getSentAt());
+        });
+
+        for (Map.Entry<Long, List<Message>> entry : sorted) {
+            entry.getValue().stream().filter(m -> m.getReceiver().getId().equals(userId)).filter(m -> !m.isRead()).count();
+        }
+        return sorted;
+    }
+
+    @Benchmark
+    public List<ConversationSummaryDto> inboxSummaryQuery() {
+        return messageService.getConversationSummaries((long) randomUser(), PageRequest.of(0, 20));
+    }
+
+    // Authentication
+
+    @Benchmark
+    public UserAccount authenticate() {
+        LoginRequestDto dto = new LoginRequestDto();
+        dto.setEmail(email(randomUser()));
+        dto.setPassword(PASSWORD);
+        // No client address: only the per-email limit applies, and each successful login resets it
+        return userService.authenticateAsync(dto, null).join();
+    }
+
+    private static RideSearchRequestDto randomSearch() {
+        int rideId = 1 + ThreadLocalRandom.current().nextInt(RIDES);
+
+        RideSearchRequestDto dto = new RideSearchRequestDto();
+        dto.setDepartureCity(CITIES[departureCity(rideId)]);
+        dto.setArrivalCity(CITIES[arrivalCity(rideId)]);
+        dto.setDate(rideDay(rideId));
+        return dto;
+    }
+
+    private static long[] randomConversation() {
+        int sender = randomUser();
+        int receiver = 1 + (sender + 1 + ThreadLocalRandom.current().nextInt(10)) % USERS;
+        return new long[]{sender, receiver};
+    }
+
+    private static int randomUser() {
+        return 1 + ThreadLocalRandom.current().nextInt(USERS);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Main.main(new String[]{ServiceBenchmarks.class.getSimpleName()});
+    }
+}
@@ -0,0 +1,26 @@
+package com.unicovoit.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache: an in-process JCache provider, used only by entities marked @Cacheable
+ * (UserAccount, Vehicle). Statistics are enabled so EntityCacheStatistics can report per-region hits and misses.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            // Regions are created on first use with the provider's defaults
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "create");
+        };
+    }
+}
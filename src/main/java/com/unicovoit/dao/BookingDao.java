@@ -1,14 +1,21 @@
 package com.unicovoit.dao;
 
+import com.unicovoit.dto.BookingRow;
 import com.unicovoit.entity.Booking;
 import com.unicovoit.entity.BookingStatus;
 import com.unicovoit.entity.Ride;
 import com.unicovoit.entity.UserAccount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,8 +28,9 @@ public interface BookingDao extends JpaRepository<Booking, Long> {
     List<Booking> findByPassenger(UserAccount passenger);
 
     /**
-     * Find all bookings for a specific passenger by ID
+     * Find all bookings for a specific passenger by ID (with ride, driver and passenger for the grid)
      */
+    @EntityGraph(Booking.GRID_GRAPH)
     List<Booking> findByPassengerId(Long passengerId);
 
     /**
@@ -31,8 +39,9 @@ public interface BookingDao extends JpaRepository<Booking, Long> {
     List<Booking> findByRide(Ride ride);
 
     /**
-     * Find all bookings for a specific ride by ID
+     * Find all bookings for a specific ride by ID (with ride, driver and passenger for the grid)
      */
+    @EntityGraph(Booking.GRID_GRAPH)
     List<Booking> findByRideId(Long rideId);
 
     /**
@@ -46,8 +55,9 @@ public interface BookingDao extends JpaRepository<Booking, Long> {
     List<Booking> findByStatus(BookingStatus status);
 
     /**
-     * Find all bookings for rides driven by a specific user
+     * Find all bookings for rides driven by a specific user (with ride, driver and passenger for the grid)
      */
+    @EntityGraph(Booking.GRID_GRAPH)
     @Query("""
            SELECT b
            FROM Booking b
@@ -55,8 +65,89 @@ public interface BookingDao extends JpaRepository<Booking, Long> {
            """)
     List<Booking> findBookingsForDriver(@Param("driverId") Long driverId);
 
+    /**
+     * One page of grid rows for a passenger's bookings with the given statuses, optionally limited to
+     * departures in [departureFrom, departureTo). With the default order (createdAt DESC, id DESC) the rows
+     * are read backwards from idx_passenger_created (the primary key completes it) and the status and departure
+     * filters are checked row by row until the page is full, without a sort; other grid sorts sort the
+     * passenger's bookings.
+     */
+    @Query("""
+           SELECT new com.unicovoit.dto.BookingRow(
+                      b.id, b.seatsBooked, b.status,
+                      r.id, r.departureCity, r.arrivalCity, r.departureDateTime, r.pricePerSeat,
+                      d.firstName, d.lastName,
+                      p.id, p.firstName, p.lastName, p.university)
+           FROM Booking b
+           JOIN b.ride r
+           JOIN r.driver d
+           JOIN b.passenger p
+           WHERE b.passenger.id = :passengerId
+             AND b.status IN :statuses
+             AND (:departureFrom IS NULL OR r.departureDateTime >= :departureFrom)
+             AND (:departureTo IS NULL OR r.departureDateTime < :departureTo)
+           """)
+    Slice<BookingRow> findRowsByPassengerId(@Param("passengerId") Long passengerId,
+                                            @Param("statuses") Collection<BookingStatus> statuses,
+                                            @Param("departureFrom") LocalDateTime departureFrom,
+                                            @Param("departureTo") LocalDateTime departureTo,
+                                            Pageable pageable);
+
+    /**
+     * One page of grid rows for the bookings on rides driven by a user, optionally filtered by status.
+     * Pending bookings come first; the pageable sort (properties of b) orders within each group.
+     */
+    @Query("""
+           SELECT new com.unicovoit.dto.BookingRow(
+                      b.id, b.seatsBooked, b.status,
+                      r.id, r.departureCity, r.arrivalCity, r.departureDateTime, r.pricePerSeat,
+                      d.firstName, d.lastName,
+                      p.id, p.firstName, p.lastName, p.university)
+           FROM Booking b
+           JOIN b.ride r
+           JOIN r.driver d
+           JOIN b.passenger p
+           WHERE d.id = :driverId
+             AND (:status IS NULL OR b.status = :status)
+           ORDER BY CASE WHEN b.status = com.unicovoit.entity.BookingStatus.PENDING THEN 0 ELSE 1 END
+           """)
+    Slice<BookingRow> findRowsForDriver(@Param("driverId") Long driverId,
+                                        @Param("status") BookingStatus status,
+                                        Pageable pageable);
+
+    /**
+     * Grid row of a single booking (used to refresh one item after an update)
+     */
+    @Query("""
+           SELECT new com.unicovoit.dto.BookingRow(
+                      b.id, b.seatsBooked, b.status,
+                      r.id, r.departureCity, r.arrivalCity, r.departureDateTime, r.pricePerSeat,
+                      d.firstName, d.lastName,
+                      p.id, p.firstName, p.lastName, p.university)
+           FROM Booking b
+           JOIN b.ride r
+           JOIN r.driver d
+           JOIN b.passenger p
+           WHERE b.id = :bookingId
+           """)
+    Optional<BookingRow> findRowById(@Param("bookingId") Long bookingId);
+
     /**
      * Check if a passenger has already booked a specific ride
      */
     boolean existsByPassengerIdAndRideId(Long passengerId, Long rideId);
+
+    /**
+     * Atomically move a pending or confirmed booking to a cancelled status.
+     * Returns the number of rows updated: 0 if the booking is already cancelled (e.g. by a concurrent request).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+           UPDATE Booking b
+           SET b.status = :status,
+               b.updatedAt = CURRENT_TIMESTAMP
+           WHERE b.id = :bookingId
+             AND b.status IN (com.unicovoit.entity.BookingStatus.PENDING, com.unicovoit.entity.BookingStatus.CONFIRMED)
+           """)
+    int cancel(@Param("bookingId") Long bookingId, @Param("status") BookingStatus status);
 }
@@ -1,12 +1,17 @@
 package com.unicovoit.dao;
 
+import com.unicovoit.dto.ConversationSummaryDto;
 import com.unicovoit.entity.Message;
 import com.unicovoit.entity.UserAccount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -35,6 +40,7 @@ public interface MessageDao extends JpaRepository<Message, Long> {
     /**
      * Find conversation between two users (ordered by sentAt)
      */
+    @EntityGraph(Message.CONVERSATION_GRAPH)
     @Query("""
            SELECT m
            FROM Message m
@@ -44,6 +50,126 @@ public interface MessageDao extends JpaRepository<Message, Long> {
            """)
     List<Message> findConversation(@Param("user1Id") Long user1Id, @Param("user2Id") Long user2Id);
 
+    /**
+     * Find the newest messages of a conversation, newest first. Each direction is its own range scan on
+     * idx_conversation (sender_id, receiver_id, sent_at), read backwards and cut at the limit; the two id lists
+     * are merged with UNION ALL and only the merged page is joined back to the messages and sorted.
+     */
+    @EntityGraph(Message.CONVERSATION_GRAPH)
+    @Query("""
+           SELECT m
+           FROM (
+               (SELECT s.id AS id
+                FROM Message s
+                WHERE s.sender.id = :user1Id
+                  AND s.receiver.id = :user2Id
+                ORDER BY s.sentAt DESC, s.id DESC
+                LIMIT :limit)
+               UNION ALL
+               (SELECT r.id AS id
+                FROM Message r
+                WHERE r.sender.id = :user2Id
+                  AND r.receiver.id = :user1Id
+                ORDER BY r.sentAt DESC, r.id DESC
+                LIMIT :limit)
+           ) page
+           JOIN Message m ON m.id = page.id
+           ORDER BY m.sentAt DESC, m.id DESC
+           LIMIT :limit
+           """)
+    List<Message> findLatestConversationMessages(@Param("user1Id") Long user1Id,
+                                                 @Param("user2Id") Long user2Id,
+                                                 @Param("limit") int limit);
+
+    /**
+     * Keyset page: the messages of a conversation sent before a given message, newest first.
+     * Same plan as findLatestConversationMessages, with the (sent_at, id) bound applied in each direction.
+     */
+    @EntityGraph(Message.CONVERSATION_GRAPH)
+    @Query("""
+           SELECT m
+           FROM (
+               (SELECT s.id AS id
+                FROM Message s
+                WHERE s.sender.id = :user1Id
+                  AND s.receiver.id = :user2Id
+                  AND (s.sentAt < :beforeSentAt
+                    OR (s.sentAt = :beforeSentAt AND s.id < :beforeId))
+                ORDER BY s.sentAt DESC, s.id DESC
+                LIMIT :limit)
+               UNION ALL
+               (SELECT r.id AS id
+                FROM Message r
+                WHERE r.sender.id = :user2Id
+                  AND r.receiver.id = :user1Id
+                  AND (r.sentAt < :beforeSentAt
+                    OR (r.sentAt = :beforeSentAt AND r.id < :beforeId))
+                ORDER BY r.sentAt DESC, r.id DESC
+                LIMIT :limit)
+           ) page
+           JOIN Message m ON m.id = page.id
+           ORDER BY m.sentAt DESC, m.id DESC
+           LIMIT :limit
+           """)
+    List<Message> findConversationMessagesBefore(@Param("user1Id") Long user1Id,
+                                                 @Param("user2Id") Long user2Id,
+                                                 @Param("beforeSentAt") LocalDateTime beforeSentAt,
+                                                 @Param("beforeId") Long beforeId,
+                                                 @Param("limit") int limit);
+
+    /**
+     * One summary row per conversation partner: latest message and unread count, most recent first.
+     * Built from per-partner aggregates instead of ranking every message of the user: MAX(sent_at) per partner
+     * is a loose index scan on idx_conversation (sent) and idx_inbox (received), the latest message is looked up
+     * by (sender_id, receiver_id, sent_at) in each direction, and the unread counts only read the unread range of
+     * idx_unread. The cost grows with the number of partners and unread messages, not with the history.
+     */
+    @Query(value = """
+           SELECT p.partner_id AS partnerId,
+                  u.first_name AS partnerFirstName,
+                  u.last_name AS partnerLastName,
+                  m.sender_id AS lastSenderId,
+                  m.content AS lastContent,
+                  m.sent_at AS lastSentAt,
+                  COALESCE(unread.unread_count, 0) AS unreadCount
+           FROM (
+               SELECT latest.partner_id, MAX(latest.sent_at) AS sent_at
+               FROM (
+                   SELECT s.receiver_id AS partner_id, MAX(s.sent_at) AS sent_at
+                   FROM message s
+                   WHERE s.sender_id = :userId
+                   GROUP BY s.receiver_id
+                   UNION ALL
+                   SELECT r.sender_id AS partner_id, MAX(r.sent_at) AS sent_at
+                   FROM message r
+                   WHERE r.receiver_id = :userId
+                   GROUP BY r.sender_id
+               ) latest
+               GROUP BY latest.partner_id
+           ) p
+           JOIN message m ON m.id = GREATEST(
+               COALESCE((SELECT MAX(s.id)
+                         FROM message s
+                         WHERE s.sender_id = :userId
+                           AND s.receiver_id = p.partner_id
+                           AND s.sent_at = p.sent_at), 0),
+               COALESCE((SELECT MAX(r.id)
+                         FROM message r
+                         WHERE r.sender_id = p.partner_id
+                           AND r.receiver_id = :userId
+                           AND r.sent_at = p.sent_at), 0))
+           JOIN user_account u ON u.id = p.partner_id
+           LEFT JOIN (
+               SELECT n.sender_id, COUNT(*) AS unread_count
+               FROM message n
+               WHERE n.receiver_id = :userId
+                 AND n.is_read = 0
+               GROUP BY n.sender_id
+           ) unread ON unread.sender_id = p.partner_id
+           ORDER BY p.sent_at DESC, m.id DESC
+           """, nativeQuery = true)
+    List<ConversationSummaryDto> findConversationSummaries(@Param("userId") Long userId, Pageable pageable);
+
     /**
      * Find all unread messages for a specific receiver
      */
@@ -65,4 +191,18 @@ public interface MessageDao extends JpaRepository<Message, Long> {
      * Count unread messages for a user
      */
     long countByReceiverIdAndReadFalse(Long receiverId);
+
+    /**
+     * Mark every unread message from a sender to a receiver as read in one statement (uses idx_unread).
+     * Returns the number of messages updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+           UPDATE Message m
+           SET m.read = true
+           WHERE m.receiver.id = :receiverId
+             AND m.read = false
+             AND m.sender.id = :senderId
+           """)
+    int markConversationAsRead(@Param("receiverId") Long receiverId, @Param("senderId") Long senderId);
 }
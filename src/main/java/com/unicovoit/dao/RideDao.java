@@ -0,0 +1,216 @@
+package com.unicovoit.dao;
+
+import com.unicovoit.dto.RideCandidate;
+import com.unicovoit.dto.RideRow;
+import com.unicovoit.entity.Ride;
+import com.unicovoit.entity.RideStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface RideDao extends JpaRepository<Ride, Long> {
+
+    /**
+     * Rows per round trip when scrolling ranked search candidates
+     */
+    String CANDIDATE_FETCH_SIZE = "500";
+
+    /**
+     * Find a ride with its driver and vehicle in one query (ride detail, search index snapshots)
+     */
+    @EntityGraph(Ride.DETAIL_GRAPH)
+    @Query("SELECT r FROM Ride r WHERE r.id = :rideId")
+    Optional<Ride> findDetailedById(@Param("rideId") Long rideId);
+
+    /**
+     * Find one page of a driver's rides as grid rows (served by idx_driver; the pageable sort applies to r)
+     */
+    @Query("""
+           SELECT new com.unicovoit.dto.RideRow(
+                      r.id, r.departureCity, r.arrivalCity, r.departureDateTime, r.pricePerSeat,
+                      r.seatsAvailable, r.seatsTotal, r.status)
+           FROM Ride r
+           WHERE r.driver.id = :driverId
+           """)
+    Slice<RideRow> findRowsByDriverId(@Param("driverId") Long driverId, Pageable pageable);
+
+    /**
+     * Find rides with a given status departing after a date (used to build RideSearchIndex)
+     */
+    @EntityGraph(Ride.DETAIL_GRAPH)
+    List<Ride> findByStatusAndDepartureDateTimeAfter(RideStatus status, LocalDateTime dateTime);
+
+    /**
+     * Find bookable rides (published, at least minSeats left, minSeats >= 1) stopping at a city whose normalized
+     * key (see CityNormalizer) starts with depKey and later at one starting with arrKey, waypoints included.
+     * The union has one branch per way the two stops can be found:
+     * - departure and arrival cities: idx_search leads with status, then the city keys, so the predicates are
+     *   index range scans; preferenceFlags (accepted values, see RideFilter) and seatsAvailable are checked in the
+     *   same index before rows are read;
+     * - a waypoint, then a later waypoint or the arrival city: range on ride_waypoint.idx_city_key;
+     * - the departure city, then a waypoint: range on ride_waypoint.idx_city_key.
+     * A null maxPrice means no price limit.
+     */
+    @Query("""
+           SELECT r
+           FROM ((SELECT e.id AS id
+                  FROM Ride e
+                  WHERE e.status = com.unicovoit.entity.RideStatus.PUBLISHED
+                    AND e.departureCityKey LIKE CONCAT(:depKey, '%')
+                    AND e.arrivalCityKey LIKE CONCAT(:arrKey, '%')
+                    AND e.departureDateTime BETWEEN :startDateTime AND :endDateTime
+                    AND e.preferenceFlags IN :flags
+                    AND (:maxPrice IS NULL OR e.pricePerSeat <= :maxPrice)
+                    AND e.seatsAvailable >= :minSeats)
+                 UNION
+                 (SELECT v.id AS id
+                  FROM Ride v
+                  JOIN v.waypoints w
+                  WHERE w.cityKey LIKE CONCAT(:depKey, '%')
+                    AND (v.arrivalCityKey LIKE CONCAT(:arrKey, '%')
+                         OR EXISTS (SELECT l.id
+                                    FROM Ride l
+                                    JOIN l.waypoints later
+                                    WHERE l.id = v.id
+                                      AND INDEX(later) > INDEX(w)
+                                      AND later.cityKey LIKE CONCAT(:arrKey, '%')))
+                    AND v.status = com.unicovoit.entity.RideStatus.PUBLISHED
+                    AND v.departureDateTime BETWEEN :startDateTime AND :endDateTime
+                    AND v.preferenceFlags IN :flags
+                    AND (:maxPrice IS NULL OR v.pricePerSeat <= :maxPrice)
+                    AND v.seatsAvailable >= :minSeats)
+                 UNION
+                 (SELECT a.id AS id
+                  FROM Ride a
+                  JOIN a.waypoints w
+                  WHERE w.cityKey LIKE CONCAT(:arrKey, '%')
+                    AND a.departureCityKey LIKE CONCAT(:depKey, '%')
+                    AND a.status = com.unicovoit.entity.RideStatus.PUBLISHED
+                    AND a.departureDateTime BETWEEN :startDateTime AND :endDateTime
+                    AND a.preferenceFlags IN :flags
+                    AND (:maxPrice IS NULL OR a.pricePerSeat <= :maxPrice)
+                    AND a.seatsAvailable >= :minSeats)) matched
+           JOIN Ride r ON r.id = matched.id
+           JOIN FETCH r.driver
+           LEFT JOIN FETCH r.vehicle
+           LEFT JOIN FETCH r.waypoints
+           ORDER BY r.departureDateTime ASC
+           """)
+    List<Ride> findRidesByCityKeys(@Param("depKey") String departureCityKey,
+                                   @Param("arrKey") String arrivalCityKey,
+                                   @Param("startDateTime") LocalDateTime start,
+                                   @Param("endDateTime") LocalDateTime end,
+                                   @Param("flags") Collection<Integer> acceptedFlags,
+                                   @Param("maxPrice") BigDecimal maxPricePerSeat,
+                                   @Param("minSeats") int minSeats);
+
+    /**
+     * Scroll the ranking inputs of the rides matching findRidesByCityKeys (same filters and branches) over a window
+     * of several days (the caller must close the stream inside its transaction). Every column the endpoint branch
+     * selects is in idx_search, so that scan never reads the table rows.
+     * Rows are fetched CANDIDATE_FETCH_SIZE at a time instead of the driver's default; with MySQL Connector/J that
+     * needs useCursorFetch=true on the JDBC URL, otherwise the whole result is still buffered.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CANDIDATE_FETCH_SIZE))
+    @Query("""
+           SELECT new com.unicovoit.dto.RideCandidate(c.id, c.departureDateTime, c.pricePerSeat, c.seatsAvailable)
+           FROM ((SELECT e.id AS id, e.departureDateTime AS departureDateTime, e.pricePerSeat AS pricePerSeat,
+                         e.seatsAvailable AS seatsAvailable
+                  FROM Ride e
+                  WHERE e.status = com.unicovoit.entity.RideStatus.PUBLISHED
+                    AND e.departureCityKey LIKE CONCAT(:depKey, '%')
+                    AND e.arrivalCityKey LIKE CONCAT(:arrKey, '%')
+                    AND e.departureDateTime BETWEEN :startDateTime AND :endDateTime
+                    AND e.preferenceFlags IN :flags
+                    AND (:maxPrice IS NULL OR e.pricePerSeat <= :maxPrice)
+                    AND e.seatsAvailable >= :minSeats)
+                 UNION
+                 (SELECT v.id AS id, v.departureDateTime AS departureDateTime, v.pricePerSeat AS pricePerSeat,
+                         v.seatsAvailable AS seatsAvailable
+                  FROM Ride v
+                  JOIN v.waypoints w
+                  WHERE w.cityKey LIKE CONCAT(:depKey, '%')
+                    AND (v.arrivalCityKey LIKE CONCAT(:arrKey, '%')
+                         OR EXISTS (SELECT l.id
+                                    FROM Ride l
+                                    JOIN l.waypoints later
+                                    WHERE l.id = v.id
+                                      AND INDEX(later) > INDEX(w)
+                                      AND later.cityKey LIKE CONCAT(:arrKey, '%')))
+                    AND v.status = com.unicovoit.entity.RideStatus.PUBLISHED
+                    AND v.departureDateTime BETWEEN :startDateTime AND :endDateTime
+                    AND v.preferenceFlags IN :flags
+                    AND (:maxPrice IS NULL OR v.pricePerSeat <= :maxPrice)
+                    AND v.seatsAvailable >= :minSeats)
+                 UNION
+                 (SELECT a.id AS id, a.departureDateTime AS departureDateTime, a.pricePerSeat AS pricePerSeat,
+                         a.seatsAvailable AS seatsAvailable
+                  FROM Ride a
+                  JOIN a.waypoints w
+                  WHERE w.cityKey LIKE CONCAT(:arrKey, '%')
+                    AND a.departureCityKey LIKE CONCAT(:depKey, '%')
+                    AND a.status = com.unicovoit.entity.RideStatus.PUBLISHED
+                    AND a.departureDateTime BETWEEN :startDateTime AND :endDateTime
+                    AND a.preferenceFlags IN :flags
+                    AND (:maxPrice IS NULL OR a.pricePerSeat <= :maxPrice)
+                    AND a.seatsAvailable >= :minSeats)) c
+           """)
+    Stream<RideCandidate> streamCandidatesByCityKeys(@Param("depKey") String departureCityKey,
+                                                     @Param("arrKey") String arrivalCityKey,
+                                                     @Param("startDateTime") LocalDateTime start,
+                                                     @Param("endDateTime") LocalDateTime end,
+                                                     @Param("flags") Collection<Integer> acceptedFlags,
+                                                     @Param("maxPrice") BigDecimal maxPricePerSeat,
+                                                     @Param("minSeats") int minSeats);
+
+    /**
+     * Load rides with their driver, vehicle and waypoints (top results of a ranked search); order is not kept
+     */
+    @EntityGraph(Ride.DETAIL_GRAPH)
+    @Query("SELECT r FROM Ride r WHERE r.id IN :ids")
+    List<Ride> findDetailedByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Atomically take seats on a published ride.
+     * Returns the number of rows updated: 0 if the ride is not published or has too few seats left.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+           UPDATE Ride r
+           SET r.seatsAvailable = r.seatsAvailable - :seats,
+               r.updatedAt = CURRENT_TIMESTAMP
+           WHERE r.id = :rideId
+             AND r.seatsAvailable >= :seats
+             AND r.status = com.unicovoit.entity.RideStatus.PUBLISHED
+           """)
+    int reserveSeats(@Param("rideId") Long rideId, @Param("seats") int seats);
+
+    /**
+     * Atomically give seats back to a ride, capped at seatsTotal (a driver may have reduced the seats since).
+     * Returns the number of rows updated: 0 only if the ride does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+           UPDATE Ride r
+           SET r.seatsAvailable = LEAST(r.seatsAvailable + :seats, r.seatsTotal),
+               r.updatedAt = CURRENT_TIMESTAMP
+           WHERE r.id = :rideId
+           """)
+    int releaseSeats(@Param("rideId") Long rideId, @Param("seats") int seats);
+}
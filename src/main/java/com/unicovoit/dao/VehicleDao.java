@@ -1,8 +1,11 @@
 package com.unicovoit.dao;
 
+import com.unicovoit.dto.VehicleRow;
 import com.unicovoit.entity.UserAccount;
 import com.unicovoit.entity.Vehicle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +22,15 @@ public interface VehicleDao extends JpaRepository<Vehicle, Long> {
      * Find all vehicles by owner ID
      */
     List<Vehicle> findByOwnerId(Long ownerId);
+
+    /**
+     * Grid rows of a user's vehicles
+     */
+    @Query("""
+           SELECT new com.unicovoit.dto.VehicleRow(v.id, v.brand, v.model, v.color, v.plateNumber, v.seatsTotal)
+           FROM Vehicle v
+           WHERE v.owner.id = :ownerId
+           ORDER BY v.createdAt ASC
+           """)
+    List<VehicleRow> findRowsByOwnerId(@Param("ownerId") Long ownerId);
 }
@@ -0,0 +1,27 @@
+package com.unicovoit.dto;
+
+import com.unicovoit.entity.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only grid row for a booking with the ride, driver and passenger columns the booking views show
+ * (built by a constructor expression in BookingDao)
+ */
+public record BookingRow(
+        Long id,
+        int seatsBooked,
+        BookingStatus status,
+        Long rideId,
+        String departureCity,
+        String arrivalCity,
+        LocalDateTime departureDateTime,
+        BigDecimal pricePerSeat,
+        String driverFirstName,
+        String driverLastName,
+        Long passengerId,
+        String passengerFirstName,
+        String passengerLastName,
+        String passengerUniversity) {
+}
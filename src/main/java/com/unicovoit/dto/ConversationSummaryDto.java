@@ -0,0 +1,23 @@
+package com.unicovoit.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One inbox row per conversation partner (read-only projection computed in SQL)
+ */
+public interface ConversationSummaryDto {
+
+    Long getPartnerId();
+
+    String getPartnerFirstName();
+
+    String getPartnerLastName();
+
+    Long getLastSenderId();
+
+    String getLastContent();
+
+    LocalDateTime getLastSentAt();
+
+    long getUnreadCount();
+}
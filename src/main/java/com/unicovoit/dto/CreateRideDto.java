@@ -3,6 +3,8 @@ package com.unicovoit.dto;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 public class CreateRideDto {
 
@@ -23,6 +25,10 @@ public class CreateRideDto {
     @Size(max = 255, message = "L'adresse d'arrivée ne doit pas dépasser 255 caractères")
     private String arrivalAddress;
 
+    @Size(max = 10, message = "Un trajet ne peut pas avoir plus de 10 villes étapes")
+    private List<@NotBlank(message = "Une ville étape ne peut pas être vide")
+                 @Size(max = 150, message = "Une ville étape ne doit pas dépasser 150 caractères") String> waypoints = new ArrayList<>();
+
     @NotNull(message = "La date et l'heure de départ sont obligatoires")
     private LocalDateTime departureDateTime;
 
@@ -88,6 +94,14 @@ public class CreateRideDto {
         this.arrivalAddress = arrivalAddress;
     }
 
+    public List<String> getWaypoints() {
+        return waypoints;
+    }
+
+    public void setWaypoints(List<String> waypoints) {
+        this.waypoints = waypoints;
+    }
+
     public LocalDateTime getDepartureDateTime() {
         return departureDateTime;
     }
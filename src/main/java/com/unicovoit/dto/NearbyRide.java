@@ -0,0 +1,7 @@
+package com.unicovoit.dto;
+
+/**
+ * A ride found by a radius search, with the distance from the searched point to its departure city
+ */
+public record NearbyRide(RideSummary ride, double distanceKm) {
+}
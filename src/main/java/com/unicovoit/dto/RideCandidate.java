@@ -0,0 +1,15 @@
+package com.unicovoit.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ranking inputs of a ride matched by a flexible search (built by a constructor expression in RideDao),
+ * so only the top-ranked rides are loaded as entities
+ */
+public record RideCandidate(
+        Long id,
+        LocalDateTime departureDateTime,
+        BigDecimal pricePerSeat,
+        int seatsAvailable) {
+}
@@ -0,0 +1,20 @@
+package com.unicovoit.dto;
+
+import com.unicovoit.entity.RideStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only grid row for a driver's ride (built by a constructor expression in RideDao)
+ */
+public record RideRow(
+        Long id,
+        String departureCity,
+        String arrivalCity,
+        LocalDateTime departureDateTime,
+        BigDecimal pricePerSeat,
+        int seatsAvailable,
+        int seatsTotal,
+        RideStatus status) {
+}
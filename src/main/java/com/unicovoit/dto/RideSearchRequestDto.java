@@ -1,7 +1,9 @@
 package com.unicovoit.dto;
 
 import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 public class RideSearchRequestDto {
 
@@ -14,6 +16,47 @@ public class RideSearchRequestDto {
     @NotNull(message = "La date est obligatoire")
     private LocalDate date;
 
+    /**
+     * When set, search rides departing within this distance of the departure city instead of from the city itself
+     */
+    @Min(value = 1, message = "Le rayon doit être d'au moins 1 km")
+    @Max(value = 100, message = "Le rayon ne doit pas dépasser 100 km")
+    private Integer radiusKm;
+
+    /**
+     * Days accepted on each side of the date (flexible search, ranked)
+     */
+    @Min(value = 0, message = "La flexibilité doit être positive")
+    @Max(value = 7, message = "La flexibilité ne doit pas dépasser 7 jours")
+    private Integer flexibleDays;
+
+    /**
+     * Time-of-day window applied to every day of the search (flexible search, ranked)
+     */
+    private LocalTime departureTimeFrom;
+    private LocalTime departureTimeTo;
+
+    /**
+     * Maximum number of ranked results (flexible search)
+     */
+    @Min(value = 1, message = "Le nombre de résultats doit être au moins 1")
+    @Max(value = 100, message = "Le nombre de résultats ne doit pas dépasser 100")
+    private Integer limit;
+
+    /**
+     * Preference filters: null means either, true or false requires that value
+     */
+    private Boolean musicEnabled;
+    private Boolean petsAllowed;
+    private Boolean smokingAllowed;
+
+    @DecimalMin(value = "0.0", inclusive = true, message = "Le prix maximum doit être positif ou nul")
+    private BigDecimal maxPricePerSeat;
+
+    @Min(value = 1, message = "Le nombre de places doit être au moins 1")
+    @Max(value = 8, message = "Le nombre de places ne doit pas dépasser 8")
+    private Integer minSeats;
+
     public String getDepartureCity() { return departureCity; }
     public void setDepartureCity(String departureCity) { this.departureCity = departureCity; }
 
@@ -22,4 +65,50 @@ public class RideSearchRequestDto {
 
     public LocalDate getDate() { return date; }
     public void setDate(LocalDate date) { this.date = date; }
+
+    public Integer getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(Integer radiusKm) { this.radiusKm = radiusKm; }
+
+    public Integer getFlexibleDays() { return flexibleDays; }
+    public void setFlexibleDays(Integer flexibleDays) { this.flexibleDays = flexibleDays; }
+
+    public LocalTime getDepartureTimeFrom() { return departureTimeFrom; }
+    public void setDepartureTimeFrom(LocalTime departureTimeFrom) { this.departureTimeFrom = departureTimeFrom; }
+
+    public LocalTime getDepartureTimeTo() { return departureTimeTo; }
+    public void setDepartureTimeTo(LocalTime departureTimeTo) { this.departureTimeTo = departureTimeTo; }
+
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+
+    public Boolean getMusicEnabled() { return musicEnabled; }
+    public void setMusicEnabled(Boolean musicEnabled) { this.musicEnabled = musicEnabled; }
+
+    public Boolean getPetsAllowed() { return petsAllowed; }
+    public void setPetsAllowed(Boolean petsAllowed) { this.petsAllowed = petsAllowed; }
+
+    public Boolean getSmokingAllowed() { return smokingAllowed; }
+    public void setSmokingAllowed(Boolean smokingAllowed) { this.smokingAllowed = smokingAllowed; }
+
+    public BigDecimal getMaxPricePerSeat() { return maxPricePerSeat; }
+    public void setMaxPricePerSeat(BigDecimal maxPricePerSeat) { this.maxPricePerSeat = maxPricePerSeat; }
+
+    public Integer getMinSeats() { return minSeats; }
+    public void setMinSeats(Integer minSeats) { this.minSeats = minSeats; }
+
+    /**
+     * Whether any preference, price or seat filter is set
+     */
+    public boolean hasFilters() {
+        return musicEnabled != null || petsAllowed != null || smokingAllowed != null
+                || maxPricePerSeat != null || minSeats != null;
+    }
+
+    /**
+     * Whether the search uses a day or time window or a result limit (ranked instead of ordered by departure)
+     */
+    public boolean isFlexible() {
+        return (flexibleDays != null && flexibleDays > 0) || departureTimeFrom != null || departureTimeTo != null
+                || limit != null;
+    }
 }
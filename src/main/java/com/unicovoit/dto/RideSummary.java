@@ -0,0 +1,43 @@
+package com.unicovoit.dto;
+
+import com.unicovoit.entity.Ride;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a ride as shown in search results. RideSearchIndex and RideSearchCache share these
+ * across sessions instead of detached Ride entities; the driver and vehicle names are copied when the snapshot
+ * is taken, so build it inside the transaction that loaded the ride.
+ */
+public record RideSummary(
+        Long id,
+        String departureCity,
+        List<String> waypoints,
+        String arrivalCity,
+        LocalDateTime departureDateTime,
+        BigDecimal pricePerSeat,
+        int seatsAvailable,
+        int preferenceFlags,
+        String driverName,
+        String vehicleName) {
+
+    public RideSummary {
+        waypoints = List.copyOf(waypoints);
+    }
+
+    public static RideSummary of(Ride ride) {
+        return new RideSummary(
+                ride.getId(),
+                ride.getDepartureCity(),
+                ride.getWaypointCities(),
+                ride.getArrivalCity(),
+                ride.getDepartureDateTime(),
+                ride.getPricePerSeat(),
+                ride.getSeatsAvailable(),
+                ride.getPreferenceFlags(),
+                ride.getDriver().getFirstName() + " " + ride.getDriver().getLastName(),
+                ride.getVehicle() != null ? ride.getVehicle().getBrand() + " " + ride.getVehicle().getModel() : null);
+    }
+}
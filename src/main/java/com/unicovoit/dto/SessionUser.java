@@ -0,0 +1,33 @@
+package com.unicovoit.dto;
+
+import com.unicovoit.entity.Role;
+import com.unicovoit.entity.UserAccount;
+
+import java.io.Serializable;
+
+/**
+ * Immutable principal kept in the Vaadin session in place of the UserAccount entity
+ * (no password hash, no lazy collections). Services resolve it with getReferenceById when a write needs the entity.
+ */
+public record SessionUser(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        Role role,
+        String university) implements Serializable {
+
+    public static SessionUser from(UserAccount user) {
+        return new SessionUser(
+                user.getId(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getEmail(),
+                user.getRole(),
+                user.getUniversity());
+    }
+
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,13 @@
+package com.unicovoit.dto;
+
+/**
+ * Read-only grid row for a vehicle (built by a constructor expression in VehicleDao)
+ */
+public record VehicleRow(
+        Long id,
+        String brand,
+        String model,
+        String color,
+        String plateNumber,
+        int seatsTotal) {
+}
@@ -6,19 +6,31 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "booking")
+@NamedEntityGraph(
+        name = Booking.GRID_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "ride", subgraph = "ride"),
+                @NamedAttributeNode("passenger")
+        },
+        subgraphs = @NamedSubgraph(name = "ride", attributeNodes = @NamedAttributeNode("driver")))
 public class Booking {
 
+    /**
+     * Booking grids: ride with its driver, and the passenger
+     */
+    public static final String GRID_GRAPH = "Booking.grid";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotNull(message = "Le trajet est obligatoire")
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "ride_id", nullable = false)
     private Ride ride;
 
     @NotNull(message = "Le passager est obligatoire")
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "passenger_id", nullable = false)
     private UserAccount passenger;
 
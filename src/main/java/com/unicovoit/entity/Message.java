@@ -6,23 +6,31 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "message")
+@NamedEntityGraph(
+        name = Message.CONVERSATION_GRAPH,
+        attributeNodes = {@NamedAttributeNode("sender"), @NamedAttributeNode("receiver")})
 public class Message {
 
+    /**
+     * Conversation pages: sender and receiver
+     */
+    public static final String CONVERSATION_GRAPH = "Message.conversation";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotNull(message = "L'expéditeur est obligatoire")
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "sender_id", nullable = false)
     private UserAccount sender;
 
     @NotNull(message = "Le destinataire est obligatoire")
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "receiver_id", nullable = false)
     private UserAccount receiver;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ride_id")
     private Ride ride;
 
@@ -9,18 +9,36 @@ import java.util.List;
 
 @Entity
 @Table(name = "ride")
+@NamedEntityGraph(
+        name = Ride.DETAIL_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("driver"),
+                @NamedAttributeNode("vehicle"),
+                @NamedAttributeNode("waypoints")})
 public class Ride {
 
+    /**
+     * Ride detail and search results: driver, vehicle and waypoints
+     */
+    public static final String DETAIL_GRAPH = "Ride.detail";
+
+    /**
+     * Bits of preferenceFlags
+     */
+    public static final int MUSIC_FLAG = 1;
+    public static final int PETS_FLAG = 1 << 1;
+    public static final int SMOKING_FLAG = 1 << 2;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotNull(message = "Le conducteur est obligatoire")
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "driver_id", nullable = false)
     private UserAccount driver;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle_id")
     private Vehicle vehicle;
 
@@ -29,6 +47,18 @@ public class Ride {
     @Column(name = "departure_city", nullable = false, length = 150)
     private String departureCity;
 
+    @Column(name = "departure_city_key", nullable = false, length = 150)
+    private String departureCityKey;
+
+    /**
+     * Departure city coordinates from CityGazetteer (null when the city is unknown)
+     */
+    @Column(name = "departure_latitude")
+    private Double departureLatitude;
+
+    @Column(name = "departure_longitude")
+    private Double departureLongitude;
+
     @Size(max = 255, message = "L'adresse de départ ne doit pas dépasser 255 caractères")
     @Column(name = "departure_address", length = 255)
     private String departureAddress;
@@ -38,10 +68,21 @@ public class Ride {
     @Column(name = "arrival_city", nullable = false, length = 150)
     private String arrivalCity;
 
+    @Column(name = "arrival_city_key", nullable = false, length = 150)
+    private String arrivalCityKey;
+
     @Size(max = 255, message = "L'adresse d'arrivée ne doit pas dépasser 255 caractères")
     @Column(name = "arrival_address", length = 255)
     private String arrivalAddress;
 
+    /**
+     * Intermediate cities, in route order (departure and arrival excluded)
+     */
+    @ElementCollection
+    @CollectionTable(name = "ride_waypoint", joinColumns = @JoinColumn(name = "ride_id"))
+    @OrderColumn(name = "position")
+    private List<Waypoint> waypoints = new ArrayList<>();
+
     @NotNull(message = "La date et l'heure de départ sont obligatoires")
     @Future(message = "La date de départ doit être dans le futur")
     @Column(name = "departure_datetime", nullable = false)
@@ -78,6 +119,13 @@ public class Ride {
     @Column(name = "smoking_allowed", nullable = false)
     private boolean smokingAllowed = false;
 
+    /**
+     * The three preferences packed as MUSIC_FLAG | PETS_FLAG | SMOKING_FLAG (indexed, see idx_search);
+     * maintained by the preference setters
+     */
+    @Column(name = "preference_flags", nullable = false)
+    private int preferenceFlags = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private RideStatus status = RideStatus.PUBLISHED;
@@ -138,6 +186,30 @@ public class Ride {
         this.departureCity = departureCity;
     }
 
+    public String getDepartureCityKey() {
+        return departureCityKey;
+    }
+
+    public void setDepartureCityKey(String departureCityKey) {
+        this.departureCityKey = departureCityKey;
+    }
+
+    public Double getDepartureLatitude() {
+        return departureLatitude;
+    }
+
+    public void setDepartureLatitude(Double departureLatitude) {
+        this.departureLatitude = departureLatitude;
+    }
+
+    public Double getDepartureLongitude() {
+        return departureLongitude;
+    }
+
+    public void setDepartureLongitude(Double departureLongitude) {
+        this.departureLongitude = departureLongitude;
+    }
+
     public String getDepartureAddress() {
         return departureAddress;
     }
@@ -154,6 +226,14 @@ public class Ride {
         this.arrivalCity = arrivalCity;
     }
 
+    public String getArrivalCityKey() {
+        return arrivalCityKey;
+    }
+
+    public void setArrivalCityKey(String arrivalCityKey) {
+        this.arrivalCityKey = arrivalCityKey;
+    }
+
     public String getArrivalAddress() {
         return arrivalAddress;
     }
@@ -162,6 +242,18 @@ public class Ride {
         this.arrivalAddress = arrivalAddress;
     }
 
+    public List<Waypoint> getWaypoints() {
+        return waypoints;
+    }
+
+    public void setWaypoints(List<Waypoint> waypoints) {
+        this.waypoints = waypoints;
+    }
+
+    public List<String> getWaypointCities() {
+        return waypoints.stream().map(Waypoint::getCity).toList();
+    }
+
     public LocalDateTime getDepartureDateTime() {
         return departureDateTime;
     }
@@ -216,6 +308,7 @@ public class Ride {
 
     public void setMusicEnabled(boolean musicEnabled) {
         this.musicEnabled = musicEnabled;
+        updatePreferenceFlags();
     }
 
     public boolean isPetsAllowed() {
@@ -224,6 +317,7 @@ public class Ride {
 
     public void setPetsAllowed(boolean petsAllowed) {
         this.petsAllowed = petsAllowed;
+        updatePreferenceFlags();
     }
 
     public boolean isSmokingAllowed() {
@@ -232,6 +326,17 @@ public class Ride {
 
     public void setSmokingAllowed(boolean smokingAllowed) {
         this.smokingAllowed = smokingAllowed;
+        updatePreferenceFlags();
+    }
+
+    public int getPreferenceFlags() {
+        return preferenceFlags;
+    }
+
+    private void updatePreferenceFlags() {
+        preferenceFlags = (musicEnabled ? MUSIC_FLAG : 0)
+                | (petsAllowed ? PETS_FLAG : 0)
+                | (smokingAllowed ? SMOKING_FLAG : 0);
     }
 
     public RideStatus getStatus() {
@@ -2,14 +2,23 @@ package com.unicovoit.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "user_account")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserAccount.CACHE_REGION)
 public class UserAccount {
 
+    /**
+     * Second-level cache region (users are read far more often than written)
+     */
+    public static final String CACHE_REGION = "user_account";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -2,18 +2,27 @@ package com.unicovoit.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "vehicle")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Vehicle.CACHE_REGION)
 public class Vehicle {
 
+    /**
+     * Second-level cache region (vehicles are read far more often than written)
+     */
+    public static final String CACHE_REGION = "vehicle";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotNull(message = "Le propriétaire est obligatoire")
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "owner_id", nullable = false)
     private UserAccount owner;
 
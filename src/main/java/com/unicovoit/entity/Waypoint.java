@@ -0,0 +1,43 @@
+package com.unicovoit.entity;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+
+/**
+ * An intermediate city of a ride, with its normalized key (see CityNormalizer) for prefix searches
+ */
+@Embeddable
+public class Waypoint {
+
+    @Column(name = "city", nullable = false, length = 150)
+    private String city;
+
+    @Column(name = "city_key", nullable = false, length = 150)
+    private String cityKey;
+
+    protected Waypoint() {
+    }
+
+    public Waypoint(String city, String cityKey) {
+        this.city = city;
+        this.cityKey = cityKey;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getCityKey() {
+        return cityKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Waypoint other && Objects.equals(city, other.city) && Objects.equals(cityKey, other.cityKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(city, cityKey);
+    }
+}
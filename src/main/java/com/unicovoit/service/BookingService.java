@@ -2,17 +2,26 @@ package com.unicovoit.service;
 
 import com.unicovoit.dao.BookingDao;
 import com.unicovoit.dao.RideDao;
+import com.unicovoit.dao.UserAccountDao;
+import com.unicovoit.dto.BookingRow;
 import com.unicovoit.dto.CreateBookingDto;
+import com.unicovoit.dto.SessionUser;
 import com.unicovoit.entity.*;
 import com.unicovoit.exception.BusinessException;
 import com.unicovoit.exception.ResourceNotFoundException;
 import com.unicovoit.exception.ValidationException;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @Validated
@@ -20,17 +29,24 @@ public class BookingService {
 
     private final BookingDao bookingDao;
     private final RideDao rideDao;
+    private final UserAccountDao userAccountDao;
+    private final RideSearchIndex rideSearchIndex;
+    private final RideSearchCache rideSearchCache;
 
-    public BookingService(BookingDao bookingDao, RideDao rideDao) {
+    public BookingService(BookingDao bookingDao, RideDao rideDao, UserAccountDao userAccountDao,
+                          RideSearchIndex rideSearchIndex, RideSearchCache rideSearchCache) {
         this.bookingDao = bookingDao;
         this.rideDao = rideDao;
+        this.userAccountDao = userAccountDao;
+        this.rideSearchIndex = rideSearchIndex;
+        this.rideSearchCache = rideSearchCache;
     }
 
     /**
      * Create a new booking
      */
     @Transactional
-    public Booking createBooking(@Valid CreateBookingDto dto, UserAccount passenger) {
+    public Booking createBooking(@Valid CreateBookingDto dto, SessionUser passenger) {
         if (passenger == null) {
             throw new ValidationException("Le passager est obligatoire.");
         }
@@ -45,12 +61,12 @@ public class BookingService {
         }
 
         // Check if passenger is trying to book their own ride
-        if (ride.getDriver().getId().equals(passenger.getId())) {
+        if (ride.getDriver().getId().equals(passenger.id())) {
             throw new ValidationException("Vous ne pouvez pas réserver votre propre trajet.");
         }
 
         // Check if passenger already has a booking for this ride
-        if (bookingDao.existsByPassengerIdAndRideId(passenger.getId(), ride.getId())) {
+        if (bookingDao.existsByPassengerIdAndRideId(passenger.id(), ride.getId())) {
             throw new BusinessException("Vous avez déjà une réservation pour ce trajet.");
         }
 
@@ -61,30 +77,33 @@ public class BookingService {
                     ride.getSeatsAvailable()));
         }
 
+        // Take the seats with a single conditional UPDATE so concurrent bookings cannot oversell
+        if (rideDao.reserveSeats(ride.getId(), dto.getSeatsBooked()) == 0) {
+            throw new BusinessException("Ce trajet n'a plus assez de places disponibles.");
+        }
+
         // Create booking
         Booking booking = new Booking();
         booking.setRide(ride);
-        booking.setPassenger(passenger);
+        booking.setPassenger(userAccountDao.getReferenceById(passenger.id()));
         booking.setSeatsBooked(dto.getSeatsBooked());
         booking.setStatus(BookingStatus.PENDING);
 
-        // Update ride available seats
-        ride.setSeatsAvailable(ride.getSeatsAvailable() - dto.getSeatsBooked());
-        rideDao.save(ride);
-
-        return bookingDao.save(booking);
+        Booking saved = bookingDao.save(booking);
+        refreshSearchIndex(ride.getId());
+        return saved;
     }
 
     /**
      * Confirm a booking (by driver)
      */
     @Transactional
-    public Booking confirmBooking(Long bookingId, UserAccount driver) {
+    public Booking confirmBooking(Long bookingId, SessionUser driver) {
         Booking booking = bookingDao.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation", bookingId));
 
         // Check if user is the driver of the ride
-        if (!booking.getRide().getDriver().getId().equals(driver.getId())) {
+        if (!booking.getRide().getDriver().getId().equals(driver.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à confirmer cette réservation.");
         }
 
@@ -100,56 +119,50 @@ public class BookingService {
      * Cancel a booking by passenger
      */
     @Transactional
-    public void cancelBookingByPassenger(Long bookingId, UserAccount passenger) {
+    public void cancelBookingByPassenger(Long bookingId, SessionUser passenger) {
         Booking booking = bookingDao.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation", bookingId));
 
         // Check ownership
-        if (!booking.getPassenger().getId().equals(passenger.getId())) {
+        if (!booking.getPassenger().getId().equals(passenger.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à annuler cette réservation.");
         }
 
-        if (booking.getStatus() == BookingStatus.CANCELLED_BY_PASSENGER ||
-            booking.getStatus() == BookingStatus.CANCELLED_BY_DRIVER) {
+        // Update booking status, only if no concurrent request cancelled it first
+        Long rideId = booking.getRide().getId();
+        int seatsBooked = booking.getSeatsBooked();
+        if (bookingDao.cancel(bookingId, BookingStatus.CANCELLED_BY_PASSENGER) == 0) {
             throw new BusinessException("Cette réservation est déjà annulée.");
         }
 
-        // Update booking status
-        booking.setStatus(BookingStatus.CANCELLED_BY_PASSENGER);
-        bookingDao.save(booking);
-
         // Restore seats to ride
-        Ride ride = booking.getRide();
-        ride.setSeatsAvailable(ride.getSeatsAvailable() + booking.getSeatsBooked());
-        rideDao.save(ride);
+        releaseSeats(rideId, seatsBooked);
+        refreshSearchIndex(rideId);
     }
 
     /**
      * Cancel a booking by driver
      */
     @Transactional
-    public void cancelBookingByDriver(Long bookingId, UserAccount driver) {
+    public void cancelBookingByDriver(Long bookingId, SessionUser driver) {
         Booking booking = bookingDao.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation", bookingId));
 
         // Check if user is the driver
-        if (!booking.getRide().getDriver().getId().equals(driver.getId())) {
+        if (!booking.getRide().getDriver().getId().equals(driver.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à annuler cette réservation.");
         }
 
-        if (booking.getStatus() == BookingStatus.CANCELLED_BY_PASSENGER ||
-            booking.getStatus() == BookingStatus.CANCELLED_BY_DRIVER) {
+        // Update booking status, only if no concurrent request cancelled it first
+        Long rideId = booking.getRide().getId();
+        int seatsBooked = booking.getSeatsBooked();
+        if (bookingDao.cancel(bookingId, BookingStatus.CANCELLED_BY_DRIVER) == 0) {
             throw new BusinessException("Cette réservation est déjà annulée.");
         }
 
-        // Update booking status
-        booking.setStatus(BookingStatus.CANCELLED_BY_DRIVER);
-        bookingDao.save(booking);
-
         // Restore seats to ride
-        Ride ride = booking.getRide();
-        ride.setSeatsAvailable(ride.getSeatsAvailable() + booking.getSeatsBooked());
-        rideDao.save(ride);
+        releaseSeats(rideId, seatsBooked);
+        refreshSearchIndex(rideId);
     }
 
     /**
@@ -168,6 +181,50 @@ public class BookingService {
         return bookingDao.findBookingsForDriver(driverId);
     }
 
+    /**
+     * Get one page of grid rows for a passenger's bookings (most recent first unless a sort is given).
+     * An empty status set means every status; null departure bounds are open.
+     */
+    @Transactional(readOnly = true)
+    public List<BookingRow> getPassengerBookingRows(Long passengerId, Set<BookingStatus> statuses,
+                                                    LocalDateTime departureFrom, LocalDateTime departureTo,
+                                                    Pageable pageable) {
+        if (statuses == null || statuses.isEmpty()) {
+            statuses = EnumSet.allOf(BookingStatus.class);
+        }
+
+        Sort sort = pageable.getSort().isSorted()
+                ? pageable.getSort().and(Sort.by(Sort.Direction.DESC, "id"))
+                : Sort.by(Sort.Direction.DESC, "createdAt", "id");
+        pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+
+        return bookingDao.findRowsByPassengerId(passengerId, statuses, departureFrom, departureTo, pageable)
+                .getContent();
+    }
+
+    /**
+     * Get one page of grid rows for the bookings on rides driven by a user (pending first, then most recent
+     * unless a sort is given); a null status returns every status
+     */
+    @Transactional(readOnly = true)
+    public List<BookingRow> getDriverBookingRows(Long driverId, BookingStatus status, Pageable pageable) {
+        Sort sort = pageable.getSort().isSorted()
+                ? pageable.getSort().and(Sort.by(Sort.Direction.DESC, "id"))
+                : Sort.by(Sort.Direction.DESC, "createdAt", "id");
+        pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+
+        return bookingDao.findRowsForDriver(driverId, status, pageable).getContent();
+    }
+
+    /**
+     * Get the grid row of a booking
+     */
+    @Transactional(readOnly = true)
+    public BookingRow getBookingRow(Long bookingId) {
+        return bookingDao.findRowById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Réservation", bookingId));
+    }
+
     /**
      * Get all bookings for a specific ride
      */
@@ -184,4 +241,24 @@ public class BookingService {
         return bookingDao.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation", bookingId));
     }
+
+    /**
+     * Give a cancelled booking's seats back; rolls the cancellation back if the ride row was not updated
+     */
+    private void releaseSeats(Long rideId, int seats) {
+        if (rideDao.releaseSeats(rideId, seats) == 0) {
+            throw new ResourceNotFoundException("Trajet", rideId);
+        }
+    }
+
+    /**
+     * Re-read a ride (with driver and vehicle) after a seat update, push it to the search index
+     * and drop the cached searches it appears in
+     */
+    private void refreshSearchIndex(Long rideId) {
+        rideDao.findDetailedById(rideId).ifPresent(ride -> {
+            rideSearchIndex.refresh(ride);
+            rideSearchCache.invalidate(ride);
+        });
+    }
 }
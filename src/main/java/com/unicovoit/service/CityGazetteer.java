@@ -0,0 +1,69 @@
+package com.unicovoit.service;
+
+import com.unicovoit.dto.GeoPoint;
+import com.unicovoit.util.CityNormalizer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline city coordinates, loaded once from the bundled gazetteer/cities.csv (city;latitude;longitude)
+ * and looked up by CityNormalizer key. No network access.
+ */
+@Component
+public class CityGazetteer {
+
+    private static final String RESOURCE = "gazetteer/cities.csv";
+
+    private final Map<String, GeoPoint> points;
+
+    public CityGazetteer() {
+        this.points = load();
+    }
+
+    /**
+     * Coordinates of a city, if the gazetteer knows it
+     */
+    public Optional<GeoPoint> locate(String city) {
+        return Optional.ofNullable(points.get(CityNormalizer.normalize(city)));
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    private static Map<String, GeoPoint> load() {
+        Map<String, GeoPoint> points = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(RESOURCE).getInputStream(), StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("city;")) {
+                    continue;
+                }
+
+                String[] columns = line.split(";");
+                if (columns.length != 3) {
+                    throw new IllegalStateException("Ligne invalide dans " + RESOURCE + " : " + line);
+                }
+
+                // First entry wins when two cities share a key
+                points.putIfAbsent(CityNormalizer.normalize(columns[0]), new GeoPoint(
+                        Double.parseDouble(columns[1].trim()),
+                        Double.parseDouble(columns[2].trim())));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Impossible de charger " + RESOURCE, ex);
+        }
+        return Map.copyOf(points);
+    }
+}
@@ -0,0 +1,111 @@
+package com.unicovoit.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the client address of a request that may have gone through reverse proxies.
+ * X-Forwarded-For is only read when the request comes from a trusted proxy (unicovoit.trusted-proxies, addresses
+ * or CIDR ranges, none by default); the client is then the right-most hop that is not a trusted proxy itself, so
+ * a value a client puts in the header can never replace the address its proxy appended.
+ */
+@Component
+public class ClientAddressResolver {
+
+    private static final Pattern IP_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}|[0-9A-Fa-f]*:[0-9A-Fa-f:.]*");
+
+    private final List<AddressRange> trustedProxies;
+
+    public ClientAddressResolver(@Value("${unicovoit.trusted-proxies:}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(AddressRange::parse)
+                .toList();
+    }
+
+    /**
+     * The client address, given the connection's remote address and its X-Forwarded-For header (may be null)
+     */
+    public String resolve(String remoteAddress, String forwardedFor) {
+        if (remoteAddress == null || forwardedFor == null || !isTrustedProxy(remoteAddress)) {
+            return remoteAddress;
+        }
+
+        String[] hops = forwardedFor.split(",");
+        String client = remoteAddress;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            client = hop;
+            if (!isTrustedProxy(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        InetAddress parsed = parseLiteral(address);
+        return parsed != null && trustedProxies.stream().anyMatch(range -> range.contains(parsed));
+    }
+
+    /**
+     * Parse an IP literal without ever falling back to a DNS lookup; null if it is not one
+     */
+    private static InetAddress parseLiteral(String address) {
+        if (!IP_LITERAL.matcher(address).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException ex) {
+            return null;
+        }
+    }
+
+    private record AddressRange(byte[] network, int prefixLength) {
+
+        static AddressRange parse(String range) {
+            int slash = range.indexOf('/');
+            InetAddress address = parseLiteral(slash < 0 ? range : range.substring(0, slash));
+            if (address == null) {
+                throw new IllegalArgumentException("unicovoit.trusted-proxies: not an IP address or range: " + range);
+            }
+
+            byte[] network = address.getAddress();
+            int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(range.substring(slash + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("unicovoit.trusted-proxies: invalid prefix length: " + range);
+            }
+            return new AddressRange(network, prefixLength);
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
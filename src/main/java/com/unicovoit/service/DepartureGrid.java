@@ -0,0 +1,185 @@
+package com.unicovoit.service;
+
+import com.unicovoit.dto.GeoPoint;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uniform latitude/longitude grid of ride departures, used by RideSearchIndex for radius searches.
+ * Each cell is an immutable set of primitive arrays sorted by departure time, so a time window is a binary search
+ * and the distance test never touches an entity. Writes replace whole cells and must be serialized by the caller.
+ */
+final class DepartureGrid {
+
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    private final double cellDegrees;
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+
+    DepartureGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    void clear() {
+        cells.clear();
+    }
+
+    void add(long rideId, double latitude, double longitude, long departure) {
+        cells.compute(cellOf(latitude, longitude),
+                (k, cell) -> (cell == null ? Cell.EMPTY : cell).with(rideId, latitude, longitude, departure));
+    }
+
+    void remove(long rideId, double latitude, double longitude) {
+        cells.computeIfPresent(cellOf(latitude, longitude), (k, cell) -> cell.without(rideId));
+    }
+
+    /**
+     * Rides departing within radiusKm of a point between two departure times (epoch seconds, inclusive),
+     * nearest first
+     */
+    List<Hit> within(double latitude, double longitude, double radiusKm, long fromDeparture, long toDeparture) {
+        // Bounding box of the circle, in cells (longitude degrees shrink with latitude)
+        double latitudeSpan = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double longitudeSpan = radiusKm / (KM_PER_DEGREE_LATITUDE * Math.max(0.01, Math.cos(Math.toRadians(latitude))));
+
+        int minRow = row(latitude - latitudeSpan);
+        int maxRow = row(latitude + latitudeSpan);
+        int minColumn = column(longitude - longitudeSpan);
+        int maxColumn = column(longitude + longitudeSpan);
+
+        List<Hit> hits = new ArrayList<>();
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                Cell cell = cells.get(key(row, column));
+                if (cell != null) {
+                    cell.collect(latitude, longitude, radiusKm, fromDeparture, toDeparture, hits);
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return key(row(latitude), column(longitude));
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    record Hit(long rideId, double distanceKm) {
+    }
+
+    private record Cell(long[] rideIds, long[] departures, double[] latitudes, double[] longitudes) {
+
+        static final Cell EMPTY = new Cell(new long[0], new long[0], new double[0], new double[0]);
+
+        void collect(double latitude, double longitude, double radiusKm, long fromDeparture, long toDeparture,
+                     List<Hit> hits) {
+            for (int i = firstAtOrAfter(fromDeparture); i < departures.length && departures[i] <= toDeparture; i++) {
+                double distance = GeoPoint.distanceKm(latitude, longitude, latitudes[i], longitudes[i]);
+                if (distance <= radiusKm) {
+                    hits.add(new Hit(rideIds[i], distance));
+                }
+            }
+        }
+
+        Cell with(long rideId, double latitude, double longitude, long departure) {
+            Cell base = without(rideId);
+            if (base == null) {
+                base = EMPTY;
+            }
+
+            int pos = base.firstAtOrAfter(departure);
+            int size = base.rideIds.length;
+            long[] newRideIds = new long[size + 1];
+            long[] newDepartures = new long[size + 1];
+            double[] newLatitudes = new double[size + 1];
+            double[] newLongitudes = new double[size + 1];
+
+            System.arraycopy(base.rideIds, 0, newRideIds, 0, pos);
+            System.arraycopy(base.departures, 0, newDepartures, 0, pos);
+            System.arraycopy(base.latitudes, 0, newLatitudes, 0, pos);
+            System.arraycopy(base.longitudes, 0, newLongitudes, 0, pos);
+
+            newRideIds[pos] = rideId;
+            newDepartures[pos] = departure;
+            newLatitudes[pos] = latitude;
+            newLongitudes[pos] = longitude;
+
+            System.arraycopy(base.rideIds, pos, newRideIds, pos + 1, size - pos);
+            System.arraycopy(base.departures, pos, newDepartures, pos + 1, size - pos);
+            System.arraycopy(base.latitudes, pos, newLatitudes, pos + 1, size - pos);
+            System.arraycopy(base.longitudes, pos, newLongitudes, pos + 1, size - pos);
+
+            return new Cell(newRideIds, newDepartures, newLatitudes, newLongitudes);
+        }
+
+        Cell without(long rideId) {
+            int pos = -1;
+            for (int i = 0; i < rideIds.length; i++) {
+                if (rideIds[i] == rideId) {
+                    pos = i;
+                    break;
+                }
+            }
+
+            if (pos < 0) {
+                return this;
+            }
+
+            int size = rideIds.length - 1;
+            if (size == 0) {
+                return null;
+            }
+
+            long[] newRideIds = new long[size];
+            long[] newDepartures = new long[size];
+            double[] newLatitudes = new double[size];
+            double[] newLongitudes = new double[size];
+
+            System.arraycopy(rideIds, 0, newRideIds, 0, pos);
+            System.arraycopy(departures, 0, newDepartures, 0, pos);
+            System.arraycopy(latitudes, 0, newLatitudes, 0, pos);
+            System.arraycopy(longitudes, 0, newLongitudes, 0, pos);
+
+            System.arraycopy(rideIds, pos + 1, newRideIds, pos, size - pos);
+            System.arraycopy(departures, pos + 1, newDepartures, pos, size - pos);
+            System.arraycopy(latitudes, pos + 1, newLatitudes, pos, size - pos);
+            System.arraycopy(longitudes, pos + 1, newLongitudes, pos, size - pos);
+
+            return new Cell(newRideIds, newDepartures, newLatitudes, newLongitudes);
+        }
+
+        /**
+         * Index of the first departure at or after the given time (departures are sorted, possibly with duplicates)
+         */
+        private int firstAtOrAfter(long departure) {
+            int low = 0;
+            int high = departures.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (departures[mid] < departure) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
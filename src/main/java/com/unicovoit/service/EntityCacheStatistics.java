@@ -0,0 +1,83 @@
+package com.unicovoit.service;
+
+import com.unicovoit.entity.UserAccount;
+import com.unicovoit.entity.Vehicle;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-region statistics of the Hibernate second-level cache. Hits, misses and puts come from Hibernate;
+ * evictions come from the JCache provider's statistics, since only the provider knows when it drops an entry.
+ * Both cached entities are only written through Hibernate, which keeps the regions in sync (READ_WRITE).
+ */
+@Component
+public class EntityCacheStatistics {
+
+    private static final List<String> REGIONS = List.of(UserAccount.CACHE_REGION, Vehicle.CACHE_REGION);
+
+    private final SessionFactory sessionFactory;
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public EntityCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        // The regions exist once the session factory is built; JCache statistics are off by default
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        if (regionFactory instanceof JCacheRegionFactory jCacheRegionFactory) {
+            CacheManager cacheManager = jCacheRegionFactory.getCacheManager();
+            REGIONS.forEach(region -> cacheManager.enableStatistics(region, true));
+        }
+    }
+
+    /**
+     * Counters of one cache region
+     */
+    public record RegionStatistics(String region, long hits, long misses, long puts, long entries, long evictions) {
+    }
+
+    public List<RegionStatistics> getRegionStatistics() {
+        return REGIONS.stream().map(this::getRegionStatistics).toList();
+    }
+
+    public RegionStatistics getRegionStatistics(String region) {
+        CacheRegionStatistics stats = sessionFactory.getStatistics().getDomainDataRegionStatistics(region);
+        return new RegionStatistics(
+                region,
+                stats.getHitCount(),
+                stats.getMissCount(),
+                stats.getPutCount(),
+                stats.getElementCountInMemory(),
+                getEvictionCount(region));
+    }
+
+    /**
+     * Entries the provider evicted from a region, read from its JCache CacheStatisticsMXBean (0 if not registered)
+     */
+    private long getEvictionCount(String region) {
+        try {
+            Set<ObjectName> names = mBeanServer.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*"), null);
+            long evictions = 0;
+            for (ObjectName name : names) {
+                evictions += (Long) mBeanServer.getAttribute(name, "CacheEvictions");
+            }
+            return evictions;
+        } catch (JMException ex) {
+            return 0;
+        }
+    }
+}
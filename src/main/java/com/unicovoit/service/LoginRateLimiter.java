@@ -0,0 +1,205 @@
+package com.unicovoit.service;
+
+import com.unicovoit.exception.AuthenticationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket throttling of login attempts, per client address and per email, checked before any
+ * database access or password hashing. An attempt from an address out of tokens is refused, and so is one on an
+ * email out of tokens, unless it comes from an address that recently logged in to that email: failing on purpose
+ * then locks out new devices only, not the owner's usual ones. Buckets idle long enough to be full again, and
+ * known addresses not seen for the retention period, are evicted.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int KNOWN_ADDRESSES_PER_EMAIL = 4;
+
+    private final Limit emailLimit;
+    private final Limit addressLimit;
+    private final long knownAddressRetentionNanos;
+
+    private final Map<String, Bucket> emailBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> addressBuckets = new ConcurrentHashMap<>();
+    private final Map<String, KnownAddresses> knownAddresses = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder allowedFromKnownAddress = new LongAdder();
+    private final LongAdder throttledByEmail = new LongAdder();
+    private final LongAdder throttledByAddress = new LongAdder();
+
+    public LoginRateLimiter(@Value("${unicovoit.login-rate-limit.email.capacity:5}") int emailCapacity,
+                            @Value("${unicovoit.login-rate-limit.email.per-minute:2}") int emailPerMinute,
+                            @Value("${unicovoit.login-rate-limit.address.capacity:30}") int addressCapacity,
+                            @Value("${unicovoit.login-rate-limit.address.per-minute:20}") int addressPerMinute,
+                            @Value("${unicovoit.login-rate-limit.email.known-address-days:30}") int knownAddressDays) {
+        this.emailLimit = Limit.perMinute(emailCapacity, emailPerMinute);
+        this.addressLimit = Limit.perMinute(addressCapacity, addressPerMinute);
+        this.knownAddressRetentionNanos = TimeUnit.DAYS.toNanos(knownAddressDays);
+    }
+
+    /**
+     * Take one attempt from the address and email buckets; throws if either is out of tokens (the email's are left
+     * untouched when the address is). An email out of tokens still lets its known addresses through.
+     */
+    public void acquire(String email, String clientAddress) {
+        long now = System.nanoTime();
+        sweepIfDue(now);
+
+        if (clientAddress != null && !take(addressBuckets, clientAddress, addressLimit, now)) {
+            throttledByAddress.increment();
+            throw new AuthenticationException("Trop de tentatives de connexion. Veuillez réessayer dans quelques minutes.");
+        }
+
+        if (email != null && !take(emailBuckets, emailKey(email), emailLimit, now)) {
+            KnownAddresses known = clientAddress != null ? knownAddresses.get(emailKey(email)) : null;
+            if (known == null || !known.contains(clientAddress, now, knownAddressRetentionNanos)) {
+                throttledByEmail.increment();
+                throw new AuthenticationException("Trop de tentatives de connexion sur ce compte. "
+                        + "Veuillez réessayer dans quelques minutes.");
+            }
+            allowedFromKnownAddress.increment();
+            return;
+        }
+
+        allowed.increment();
+    }
+
+    /**
+     * Forget the failed attempts on an email after a successful login, and remember the address it came from
+     */
+    public void reset(String email, String clientAddress) {
+        if (email == null) {
+            return;
+        }
+        String key = emailKey(email);
+        emailBuckets.remove(key);
+        if (clientAddress != null) {
+            knownAddresses.computeIfAbsent(key, k -> new KnownAddresses()).add(clientAddress, System.nanoTime());
+        }
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getAllowedFromKnownAddressCount() {
+        return allowedFromKnownAddress.sum();
+    }
+
+    public long getThrottledByEmailCount() {
+        return throttledByEmail.sum();
+    }
+
+    public long getThrottledByAddressCount() {
+        return throttledByAddress.sum();
+    }
+
+    public int getTrackedKeyCount() {
+        return emailBuckets.size() + addressBuckets.size() + knownAddresses.size();
+    }
+
+    private static boolean take(Map<String, Bucket> buckets, String key, Limit limit, long now) {
+        return buckets.computeIfAbsent(key, k -> new Bucket(limit.capacity, now)).tryTake(limit, now);
+    }
+
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Drop buckets that have refilled completely and addresses not seen for the retention period
+     * (at most once per interval, by the caller that wins the race)
+     */
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        emailBuckets.entrySet().removeIf(entry -> entry.getValue().isFull(emailLimit, now));
+        addressBuckets.entrySet().removeIf(entry -> entry.getValue().isFull(addressLimit, now));
+        knownAddresses.entrySet().removeIf(entry -> entry.getValue().isExpired(now, knownAddressRetentionNanos));
+    }
+
+    private record Limit(int capacity, double tokensPerNano) {
+
+        static Limit perMinute(int capacity, int perMinute) {
+            return new Limit(capacity, perMinute / (double) TimeUnit.MINUTES.toNanos(1));
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        synchronized boolean tryTake(Limit limit, long now) {
+            refill(limit, now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized boolean isFull(Limit limit, long now) {
+            refill(limit, now);
+            return tokens >= limit.capacity;
+        }
+
+        private void refill(Limit limit, long now) {
+            // A caller may hold an older timestamp than the last refill
+            if (now > refilledAt) {
+                tokens = Math.min(limit.capacity, tokens + (now - refilledAt) * limit.tokensPerNano);
+                refilledAt = now;
+            }
+        }
+    }
+
+    /**
+     * The last few addresses an email logged in from, most recent first, with when each was last seen
+     */
+    private static final class KnownAddresses {
+
+        private final String[] addresses = new String[KNOWN_ADDRESSES_PER_EMAIL];
+        private final long[] seenAt = new long[KNOWN_ADDRESSES_PER_EMAIL];
+
+        synchronized void add(String address, long now) {
+            int index = indexOf(address);
+            int last = index >= 0 ? index : addresses.length - 1;
+            System.arraycopy(addresses, 0, addresses, 1, last);
+            System.arraycopy(seenAt, 0, seenAt, 1, last);
+            addresses[0] = address;
+            seenAt[0] = now;
+        }
+
+        synchronized boolean contains(String address, long now, long retentionNanos) {
+            int index = indexOf(address);
+            return index >= 0 && now - seenAt[index] < retentionNanos;
+        }
+
+        synchronized boolean isExpired(long now, long retentionNanos) {
+            return now - seenAt[0] >= retentionNanos;
+        }
+
+        private int indexOf(String address) {
+            return Arrays.asList(addresses).indexOf(address);
+        }
+    }
+}
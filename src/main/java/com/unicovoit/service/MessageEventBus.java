@@ -0,0 +1,94 @@
+package com.unicovoit.service;
+
+import com.unicovoit.entity.Message;
+import com.unicovoit.util.TransactionHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process, per-user fan-out of message events.
+ * Subscriber lists are copy-on-write so publishing never locks; events are delivered after commit.
+ */
+@Component
+public class MessageEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageEventBus.class);
+
+    private final Map<Long, List<MessageListener>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Listener for a user's message events (called on the publishing thread: UI code must use UI.access)
+     */
+    public interface MessageListener {
+
+        default void onMessage(Message message) {
+        }
+
+        default void onUnreadCountChanged(long unreadCount) {
+        }
+    }
+
+    /**
+     * Subscribe to the events of a user, returns the action that unsubscribes
+     * (the listener is added inside compute, so a concurrent unsubscribe cannot drop the list it was added to)
+     */
+    public Runnable subscribe(Long userId, MessageListener listener) {
+        subscribers.compute(userId, (k, listeners) -> {
+            listeners = listeners == null ? new CopyOnWriteArrayList<>() : listeners;
+            listeners.add(listener);
+            return listeners;
+        });
+
+        return () -> subscribers.computeIfPresent(userId, (k, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    /**
+     * Deliver a new message to its sender and receiver once the transaction commits
+     */
+    public void publishMessage(Message message) {
+        TransactionHelper.afterCommit(() -> {
+            dispatch(message.getReceiver().getId(), listener -> listener.onMessage(message));
+            dispatch(message.getSender().getId(), listener -> listener.onMessage(message));
+        });
+    }
+
+    /**
+     * Deliver a user's new unread message count once the transaction commits
+     * (the count is read at delivery time, after earlier after-commit updates have run)
+     */
+    public void publishUnreadCount(Long userId, LongSupplier unreadCount) {
+        TransactionHelper.afterCommit(() -> {
+            if (subscribers.containsKey(userId)) {
+                long count = unreadCount.getAsLong();
+                dispatch(userId, listener -> listener.onUnreadCountChanged(count));
+            }
+        });
+    }
+
+    private void dispatch(Long userId, Consumer<MessageListener> event) {
+        List<MessageListener> listeners = subscribers.get(userId);
+        if (listeners == null) {
+            return;
+        }
+
+        for (MessageListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (Exception ex) {
+                // A detached or failing UI must not prevent delivery to the others
+                log.warn("Message listener for user {} failed: {}", userId, ex.getMessage());
+            }
+        }
+    }
+}
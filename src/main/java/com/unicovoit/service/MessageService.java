@@ -3,17 +3,22 @@ package com.unicovoit.service;
 import com.unicovoit.dao.MessageDao;
 import com.unicovoit.dao.RideDao;
 import com.unicovoit.dao.UserAccountDao;
+import com.unicovoit.dto.ConversationSummaryDto;
 import com.unicovoit.dto.SendMessageDto;
+import com.unicovoit.dto.SessionUser;
 import com.unicovoit.entity.Message;
 import com.unicovoit.entity.Ride;
 import com.unicovoit.entity.UserAccount;
 import com.unicovoit.exception.ResourceNotFoundException;
 import com.unicovoit.exception.ValidationException;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -23,18 +28,23 @@ public class MessageService {
     private final MessageDao messageDao;
     private final UserAccountDao userAccountDao;
     private final RideDao rideDao;
+    private final MessageEventBus messageEventBus;
+    private final UnreadMessageCounter unreadMessageCounter;
 
-    public MessageService(MessageDao messageDao, UserAccountDao userAccountDao, RideDao rideDao) {
+    public MessageService(MessageDao messageDao, UserAccountDao userAccountDao, RideDao rideDao,
+                          MessageEventBus messageEventBus, UnreadMessageCounter unreadMessageCounter) {
         this.messageDao = messageDao;
         this.userAccountDao = userAccountDao;
         this.rideDao = rideDao;
+        this.messageEventBus = messageEventBus;
+        this.unreadMessageCounter = unreadMessageCounter;
     }
 
     /**
      * Send a message
      */
     @Transactional
-    public Message sendMessage(@Valid SendMessageDto dto, UserAccount sender) {
+    public Message sendMessage(@Valid SendMessageDto dto, SessionUser sender) {
         if (sender == null) {
             throw new ValidationException("L'expéditeur est obligatoire.");
         }
@@ -44,12 +54,12 @@ public class MessageService {
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", dto.getReceiverId()));
 
         // Check if sender is trying to send message to themselves
-        if (sender.getId().equals(receiver.getId())) {
+        if (sender.id().equals(receiver.getId())) {
             throw new ValidationException("Vous ne pouvez pas vous envoyer un message à vous-même.");
         }
 
         Message message = new Message();
-        message.setSender(sender);
+        message.setSender(userAccountDao.getReferenceById(sender.id()));
         message.setReceiver(receiver);
         message.setContent(dto.getContent());
         message.setRead(false);
@@ -61,39 +71,47 @@ public class MessageService {
             message.setRide(ride);
         }
 
-        return messageDao.save(message);
+        Message saved = messageDao.save(message);
+
+        // Push the message and the receiver's new unread count to connected UIs
+        messageEventBus.publishMessage(saved);
+        updateUnreadCount(receiver.getId(), 1);
+
+        return saved;
     }
 
     /**
      * Mark a message as read
      */
     @Transactional
-    public void markAsRead(Long messageId, UserAccount receiver) {
+    public void markAsRead(Long messageId, SessionUser receiver) {
         Message message = messageDao.findById(messageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Message", messageId));
 
         // Check if user is the receiver
-        if (!message.getReceiver().getId().equals(receiver.getId())) {
+        if (!message.getReceiver().getId().equals(receiver.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à marquer ce message comme lu.");
         }
 
+        if (message.isRead()) {
+            return;
+        }
+
         message.setRead(true);
         messageDao.save(message);
+        updateUnreadCount(receiver.id(), -1);
     }
 
     /**
-     * Mark all messages in a conversation as read
+     * Mark all messages in a conversation as read, returns how many were updated
      */
     @Transactional
-    public void markConversationAsRead(Long otherUserId, UserAccount currentUser) {
-        List<Message> unreadMessages = messageDao.findUnreadMessages(currentUser.getId());
-
-        unreadMessages.stream()
-                .filter(m -> m.getSender().getId().equals(otherUserId))
-                .forEach(m -> {
-                    m.setRead(true);
-                    messageDao.save(m);
-                });
+    public int markConversationAsRead(Long otherUserId, SessionUser currentUser) {
+        int updated = messageDao.markConversationAsRead(currentUser.id(), otherUserId);
+        if (updated > 0) {
+            updateUnreadCount(currentUser.id(), -updated);
+        }
+        return updated;
     }
 
     /**
@@ -104,6 +122,30 @@ public class MessageService {
         return messageDao.findConversation(user1Id, user2Id);
     }
 
+    /**
+     * Get a page of a conversation in chronological order: the newest messages when beforeMessage is null,
+     * otherwise the messages sent just before it
+     */
+    @Transactional(readOnly = true)
+    public List<Message> getConversationPage(Long user1Id, Long user2Id, Message beforeMessage, int pageSize) {
+        List<Message> newestFirst = beforeMessage == null
+                ? messageDao.findLatestConversationMessages(user1Id, user2Id, pageSize)
+                : messageDao.findConversationMessagesBefore(
+                        user1Id, user2Id, beforeMessage.getSentAt(), beforeMessage.getId(), pageSize);
+
+        List<Message> page = new ArrayList<>(newestFirst);
+        Collections.reverse(page);
+        return page;
+    }
+
+    /**
+     * Get one page of the user's inbox: one summary per conversation partner, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<ConversationSummaryDto> getConversationSummaries(Long userId, Pageable pageable) {
+        return messageDao.findConversationSummaries(userId, pageable);
+    }
+
     /**
      * Get all messages sent by a user
      */
@@ -129,11 +171,11 @@ public class MessageService {
     }
 
     /**
-     * Get unread message count for a user
+     * Get unread message count for a user (served from UnreadMessageCounter)
      */
     @Transactional(readOnly = true)
     public long getUnreadMessageCount(Long receiverId) {
-        return messageDao.countByReceiverIdAndReadFalse(receiverId);
+        return unreadMessageCounter.get(receiverId);
     }
 
     /**
@@ -148,15 +190,27 @@ public class MessageService {
      * Delete a message (only by sender)
      */
     @Transactional
-    public void deleteMessage(Long messageId, UserAccount sender) {
+    public void deleteMessage(Long messageId, SessionUser sender) {
         Message message = messageDao.findById(messageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Message", messageId));
 
         // Check if user is the sender
-        if (!message.getSender().getId().equals(sender.getId())) {
+        if (!message.getSender().getId().equals(sender.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à supprimer ce message.");
         }
 
         messageDao.delete(message);
+
+        if (!message.isRead()) {
+            updateUnreadCount(message.getReceiver().getId(), -1);
+        }
+    }
+
+    /**
+     * Adjust the cached unread count, then push the new value (both after commit, in that order)
+     */
+    private void updateUnreadCount(Long receiverId, long delta) {
+        unreadMessageCounter.add(receiverId, delta);
+        messageEventBus.publishUnreadCount(receiverId, () -> unreadMessageCounter.get(receiverId));
     }
 }
@@ -0,0 +1,138 @@
+package com.unicovoit.service;
+
+import com.unicovoit.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing (deliberately CPU-heavy) on a dedicated, bounded pool so login bursts cannot
+ * occupy the servlet threads. When the queue is full, new requests are refused instead of piling up.
+ * The pool only hashes: callers do their database work on their own thread, once the future completes.
+ *
+ * Hashing, checking and upgrade decisions all go through the application PasswordEncoder, so new hashes are always
+ * in the format it reads back (e.g. {bcrypt}-prefixed for a delegating encoder) and at the cost it is configured
+ * with (see PasswordHashBenchmarks to choose it).
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${unicovoit.password-hashing.threads:0}") int threads,
+                          @Value("${unicovoit.password-hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+
+        // Default to one thread per core, minus one left for the request threads
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Hash a raw password with the application PasswordEncoder
+     */
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Check a raw password against a stored hash
+     */
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether the application PasswordEncoder would store this hash differently (weaker cost, other algorithm)
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword == null || passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Whether nothing is waiting for a hashing thread (used to keep background re-hashing out of login bursts)
+     */
+    public boolean isIdle() {
+        return executor.getQueue().isEmpty();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> hashing) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitNanos.add(startedAt - queuedAt);
+                try {
+                    return hashing.get();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new BusinessException(
+                    "Le service est momentanément surchargé, veuillez réessayer dans quelques instants."));
+        }
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Mean time from submission to the start of hashing, in milliseconds
+     */
+    public double getAverageQueueWaitMillis() {
+        long count = completed.sum();
+        return count == 0 ? 0 : queueWaitNanos.sum() / 1_000_000.0 / count;
+    }
+
+    /**
+     * Mean time spent hashing, in milliseconds
+     */
+    public double getAverageHashMillis() {
+        long count = completed.sum();
+        return count == 0 ? 0 : hashNanos.sum() / 1_000_000.0 / count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
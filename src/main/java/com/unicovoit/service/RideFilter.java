@@ -0,0 +1,56 @@
+package com.unicovoit.service;
+
+import com.unicovoit.dto.RideSearchRequestDto;
+import com.unicovoit.dto.RideSummary;
+import com.unicovoit.entity.Ride;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Preference, price and seat filters of a search, applied in SQL by RideDao or in memory on index snapshots.
+ * At least one seat is always required: full rides cannot be booked, so they are never returned
+ * (both sources only hold PUBLISHED rides).
+ * The preference constraints are expanded into the list of accepted Ride.preferenceFlags values (at most 8),
+ * so the query uses an IN list on the indexed column instead of bitwise arithmetic.
+ */
+record RideFilter(List<Integer> acceptedFlags, BigDecimal maxPricePerSeat, int minSeats) {
+
+    private static final int ALL_FLAGS = Ride.MUSIC_FLAG | Ride.PETS_FLAG | Ride.SMOKING_FLAG;
+
+    static RideFilter of(RideSearchRequestDto dto) {
+        int mask = 0;
+        int required = 0;
+        if (dto.getMusicEnabled() != null) {
+            mask |= Ride.MUSIC_FLAG;
+            required |= dto.getMusicEnabled() ? Ride.MUSIC_FLAG : 0;
+        }
+        if (dto.getPetsAllowed() != null) {
+            mask |= Ride.PETS_FLAG;
+            required |= dto.getPetsAllowed() ? Ride.PETS_FLAG : 0;
+        }
+        if (dto.getSmokingAllowed() != null) {
+            mask |= Ride.SMOKING_FLAG;
+            required |= dto.getSmokingAllowed() ? Ride.SMOKING_FLAG : 0;
+        }
+
+        List<Integer> acceptedFlags = new ArrayList<>();
+        for (int flags = 0; flags <= ALL_FLAGS; flags++) {
+            if ((flags & mask) == required) {
+                acceptedFlags.add(flags);
+            }
+        }
+
+        return new RideFilter(
+                List.copyOf(acceptedFlags),
+                dto.getMaxPricePerSeat(),
+                dto.getMinSeats() != null ? Math.max(1, dto.getMinSeats()) : 1);
+    }
+
+    boolean matches(RideSummary ride) {
+        return acceptedFlags.contains(ride.preferenceFlags())
+                && (maxPricePerSeat == null || ride.pricePerSeat().compareTo(maxPricePerSeat) <= 0)
+                && ride.seatsAvailable() >= minSeats;
+    }
+}
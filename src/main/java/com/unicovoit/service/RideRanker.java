@@ -0,0 +1,85 @@
+package com.unicovoit.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the K best-ranked rides of a flexible search in a bounded heap (worst kept candidate at the head),
+ * so a wide window costs O(n log K) and never holds more than K candidates.
+ *
+ * Lower scores rank first: a weighted sum of the distance to the target departure time (relative to the window),
+ * the price and the share of seats already taken.
+ */
+final class RideRanker<T> {
+
+    private static final double TIME_WEIGHT = 0.5;
+    private static final double PRICE_WEIGHT = 0.3;
+    private static final double SEATS_WEIGHT = 0.2;
+
+    /** Prices at or above this many euros get the worst price score */
+    private static final double PRICE_SCALE = 100.0;
+    private static final double MAX_SEATS = 8.0;
+
+    private static final Comparator<Ranked<?>> BEST_FIRST = Comparator
+            .<Ranked<?>>comparingDouble(Ranked::score)
+            .thenComparing(Ranked::departure)
+            .thenComparingLong(Ranked::sequence);
+
+    private final int limit;
+    private final LocalDateTime target;
+    private final double windowMinutes;
+    private final PriorityQueue<Ranked<T>> heap;
+    private long sequence;
+
+    /**
+     * @param flexibleDays days allowed on each side of the target
+     * @param timeWindow   length of the time-of-day window centred on the target; with flexibleDays, it gives the
+     *                     farthest a candidate can be from the target, which scales the time score
+     */
+    RideRanker(int limit, LocalDateTime target, int flexibleDays, Duration timeWindow) {
+        this.limit = limit;
+        this.target = target;
+        this.windowMinutes = Math.max(1.0, Duration.ofDays(flexibleDays).toMinutes() + timeWindow.toMinutes() / 2.0);
+        this.heap = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+    }
+
+    void offer(T item, LocalDateTime departure, BigDecimal pricePerSeat, int seatsAvailable) {
+        Ranked<T> ranked = new Ranked<>(item, score(departure, pricePerSeat, seatsAvailable), departure, sequence++);
+
+        if (heap.size() < limit) {
+            heap.add(ranked);
+        } else if (BEST_FIRST.compare(ranked, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(ranked);
+        }
+    }
+
+    /**
+     * The kept items, best first
+     */
+    List<T> result() {
+        List<Ranked<T>> ranked = new ArrayList<>(heap);
+        ranked.sort(BEST_FIRST);
+
+        List<T> items = new ArrayList<>(ranked.size());
+        for (Ranked<T> entry : ranked) {
+            items.add(entry.item);
+        }
+        return items;
+    }
+
+    private double score(LocalDateTime departure, BigDecimal pricePerSeat, int seatsAvailable) {
+        double time = Math.min(1.0, Math.abs(Duration.between(target, departure).toMinutes()) / windowMinutes);
+        double price = Math.min(1.0, pricePerSeat.doubleValue() / PRICE_SCALE);
+        double seats = 1.0 - Math.min(seatsAvailable, MAX_SEATS) / MAX_SEATS;
+        return TIME_WEIGHT * time + PRICE_WEIGHT * price + SEATS_WEIGHT * seats;
+    }
+
+    private record Ranked<T>(T item, double score, LocalDateTime departure, long sequence) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.unicovoit.service;
+
+import com.unicovoit.dto.RideSummary;
+import com.unicovoit.entity.Ride;
+import com.unicovoit.util.CityNormalizer;
+import com.unicovoit.util.TransactionHelper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-based cache of search results (immutable RideSummary snapshots) keyed by normalized
+ * (departure, arrival, date).
+ * A ride change removes exactly the cached searches it could appear in (same day, a prefix of one of its stops
+ * followed by a prefix of a later stop) once its transaction commits; a search that overlaps an invalidation
+ * is not cached.
+ */
+@Component
+public class RideSearchCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<SearchKey, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RideSearchCache(@Value("${unicovoit.ride-search-cache.max-entries:1000}") int maxEntries,
+                           @Value("${unicovoit.ride-search-cache.ttl-seconds:120}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * Return the cached result of a search, or run it and cache the result (not cached when max-entries is 0
+     * or less)
+     */
+    public List<RideSummary> get(String departureCity, String arrivalCity, LocalDate date,
+                                 Supplier<List<RideSummary>> search) {
+        SearchKey key = new SearchKey(CityNormalizer.normalize(departureCity), CityNormalizer.normalize(arrivalCity), date);
+        long now = System.nanoTime();
+
+        Entry cached = entries.get(key);
+        if (cached != null && now - cached.expiresAt < 0) {
+            hits.increment();
+            return cached.rides;
+        }
+
+        misses.increment();
+        long loadVersion = version.get();
+        List<RideSummary> rides = List.copyOf(search.get());
+
+        if (maxEntries > 0 && version.get() == loadVersion) {
+            makeRoom(now);
+            entries.put(key, new Entry(rides, now + ttlNanos));
+            if (version.get() != loadVersion) {
+                // An invalidation ran while storing: drop what may be stale
+                entries.remove(key);
+            }
+        }
+        return rides;
+    }
+
+    /**
+     * Drop the cached searches a ride can appear in, once the transaction commits.
+     * The ride's current route and day are captured now, so call it before and after changing them.
+     */
+    public void invalidate(Ride ride) {
+        String[] stopKeys = RideSearchIndex.stopKeys(ride);
+        LocalDate date = ride.getDepartureDateTime().toLocalDate();
+
+        TransactionHelper.afterCommit(() -> {
+            version.incrementAndGet();
+            invalidations.increment();
+            entries.keySet().removeIf(key -> key.date.equals(date) && key.matches(stopKeys));
+        });
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Keep the cache under its bound: drop expired entries, then the ones closest to expiry
+     */
+    private void makeRoom(long now) {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+
+        entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+        while (entries.size() >= maxEntries) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().expiresAt))
+                    .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private record SearchKey(String departureCityKey, String arrivalCityKey, LocalDate date) {
+
+        /**
+         * Whether a route with these stops can be a result of this search
+         */
+        boolean matches(String[] stopKeys) {
+            for (int i = 0; i < stopKeys.length - 1; i++) {
+                if (stopKeys[i].startsWith(departureCityKey)) {
+                    for (int j = i + 1; j < stopKeys.length; j++) {
+                        if (stopKeys[j].startsWith(arrivalCityKey)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Entry(List<RideSummary> rides, long expiresAt) {
+    }
+}
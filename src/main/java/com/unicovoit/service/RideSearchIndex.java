@@ -0,0 +1,378 @@
+package com.unicovoit.service;
+
+import com.unicovoit.dao.RideDao;
+import com.unicovoit.dto.GeoPoint;
+import com.unicovoit.dto.NearbyRide;
+import com.unicovoit.dto.RideSummary;
+import com.unicovoit.entity.Ride;
+import com.unicovoit.entity.RideStatus;
+import com.unicovoit.util.CityNormalizer;
+import com.unicovoit.util.TransactionHelper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index of future PUBLISHED rides: for each (city key, departure day), the rides stopping
+ * there and the position of the city on their route (departure, waypoints, arrival).
+ * A search for (A, B) intersects the postings of the city keys starting with A and B (the prefix rule of
+ * RideDao.findRidesByCityKeys) and keeps the rides where A comes before B.
+ * Departures with known coordinates are also kept in a DepartureGrid for radius searches.
+ * Rides are held as immutable RideSummary snapshots taken when they are indexed, never as entities.
+ * Reads are lock-free on immutable postings; writes replace the affected postings once the transaction commits.
+ */
+@Component
+public class RideSearchIndex {
+
+    private static final double GRID_CELL_DEGREES = 0.25;
+
+    private final RideDao rideDao;
+    private final CityGazetteer cityGazetteer;
+
+    // Ordered by day, then city key: the city keys starting with a prefix on a day are one contiguous range
+    private final NavigableMap<CityDay, Postings> postings = new ConcurrentSkipListMap<>(
+            Comparator.comparingLong(CityDay::day).thenComparing(CityDay::cityKey));
+    private final DepartureGrid departures = new DepartureGrid(GRID_CELL_DEGREES);
+    private final Map<Long, IndexedRide> rides = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+    private volatile long evictedBeforeDay = Long.MIN_VALUE;
+
+    public RideSearchIndex(RideDao rideDao, CityGazetteer cityGazetteer) {
+        this.rideDao = rideDao;
+        this.cityGazetteer = cityGazetteer;
+    }
+
+    /**
+     * Load all future published rides once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuild(rideDao.findByStatusAndDepartureDateTimeAfter(RideStatus.PUBLISHED, LocalDateTime.now()));
+    }
+
+    /**
+     * Replace the index content with the given rides (which must have their driver, vehicle and waypoints loaded)
+     */
+    public synchronized void rebuild(Collection<Ride> publishedRides) {
+        postings.clear();
+        departures.clear();
+        rides.clear();
+
+        Map<CityDay, List<long[]>> grouped = new HashMap<>();
+        for (Ride ride : publishedRides) {
+            IndexedRide indexed = index(ride);
+            rides.put(indexed.ride.id(), indexed);
+            addDeparture(indexed);
+            for (int position = 0; position < indexed.stopKeys.length; position++) {
+                grouped.computeIfAbsent(new CityDay(indexed.stopKeys[position], indexed.day), k -> new ArrayList<>())
+                        .add(new long[]{indexed.ride.id(), position});
+            }
+        }
+
+        grouped.forEach((key, entries) -> postings.put(key, Postings.of(entries)));
+
+        evictedBeforeDay = LocalDate.now().toEpochDay();
+        ready = true;
+    }
+
+    /**
+     * Whether the index can answer a search for the given day (only future rides are indexed)
+     */
+    public boolean covers(LocalDate date) {
+        return ready && !date.isBefore(LocalDate.now());
+    }
+
+    /**
+     * Find indexed rides that have not left yet, stopping at a city whose key starts with the departure city key
+     * and later at one starting with the arrival city key on a day, ordered by departure time
+     */
+    public List<RideSummary> search(String departureCity, String arrivalCity, LocalDate date) {
+        evictPastDays();
+
+        long day = date.toEpochDay();
+        Postings from = collect(CityNormalizer.normalize(departureCity), day, true);
+        Postings to = collect(CityNormalizer.normalize(arrivalCity), day, false);
+        if (from == null || to == null) {
+            return List.of();
+        }
+
+        long now = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+
+        // Both posting lists are sorted by ride id: merge them
+        List<IndexedRide> matches = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < from.rideIds.length && j < to.rideIds.length) {
+            long fromId = from.rideIds[i];
+            long toId = to.rideIds[j];
+            if (fromId < toId) {
+                i++;
+            } else if (fromId > toId) {
+                j++;
+            } else {
+                if (from.positions[i] < to.positions[j]) {
+                    IndexedRide indexed = rides.get(fromId);
+                    if (indexed != null && indexed.departure >= now) {
+                        matches.add(indexed);
+                    }
+                }
+                i++;
+                j++;
+            }
+        }
+
+        matches.sort(Comparator.comparingLong(IndexedRide::departure));
+        List<RideSummary> result = new ArrayList<>(matches.size());
+        for (IndexedRide indexed : matches) {
+            result.add(indexed.ride);
+        }
+        return result;
+    }
+
+    /**
+     * Find indexed rides departing within radiusKm of a point between two times, nearest first
+     * (pass a start no earlier than now to leave out rides that have already left)
+     */
+    public List<NearbyRide> searchNear(GeoPoint point, double radiusKm, LocalDateTime from, LocalDateTime to) {
+        evictPastDays();
+
+        List<NearbyRide> result = new ArrayList<>();
+        for (DepartureGrid.Hit hit : departures.within(point.latitude(), point.longitude(), radiusKm,
+                from.toEpochSecond(ZoneOffset.UTC), to.toEpochSecond(ZoneOffset.UTC))) {
+            IndexedRide indexed = rides.get(hit.rideId());
+            if (indexed != null) {
+                result.add(new NearbyRide(indexed.ride, hit.distanceKm()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Re-index a ride after its transaction commits (added, moved or removed depending on its state).
+     * The snapshot is taken now, so call it inside the transaction with the ride's driver and vehicle loadable.
+     */
+    public void refresh(Ride ride) {
+        Long rideId = ride.getId();
+        IndexedRide indexed = ride.getStatus() == RideStatus.PUBLISHED
+                && ride.getDepartureDateTime().isAfter(LocalDateTime.now()) ? index(ride) : null;
+        TransactionHelper.afterCommit(() -> apply(rideId, indexed));
+    }
+
+    /**
+     * Normalized keys of the cities a ride stops at, in route order
+     */
+    static String[] stopKeys(Ride ride) {
+        return stopKeys(ride.getDepartureCity(), ride.getWaypointCities(), ride.getArrivalCity());
+    }
+
+    static String[] stopKeys(RideSummary ride) {
+        return stopKeys(ride.departureCity(), ride.waypoints(), ride.arrivalCity());
+    }
+
+    private static String[] stopKeys(String departureCity, List<String> waypoints, String arrivalCity) {
+        String[] keys = new String[waypoints.size() + 2];
+        keys[0] = CityNormalizer.normalize(departureCity);
+        for (int i = 0; i < waypoints.size(); i++) {
+            keys[i + 1] = CityNormalizer.normalize(waypoints.get(i));
+        }
+        keys[keys.length - 1] = CityNormalizer.normalize(arrivalCity);
+        return keys;
+    }
+
+    /**
+     * Postings of all city keys starting with a prefix on a day, with the earliest (departure side) or latest
+     * (arrival side) position of each ride among them; null when no city matches
+     */
+    private Postings collect(String cityKeyPrefix, long day, boolean earliest) {
+        Postings collected = null;
+        for (Postings list : postings.subMap(new CityDay(cityKeyPrefix, day), true,
+                new CityDay(cityKeyPrefix + Character.MAX_VALUE, day), false).values()) {
+            collected = collected == null ? list : collected.union(list, earliest);
+        }
+        return collected;
+    }
+
+    private synchronized void apply(Long rideId, IndexedRide indexed) {
+        IndexedRide previous = rides.remove(rideId);
+        if (previous != null) {
+            for (String stopKey : previous.stopKeys) {
+                postings.computeIfPresent(new CityDay(stopKey, previous.day), (k, list) -> list.without(rideId));
+            }
+            removeDeparture(previous);
+        }
+
+        if (indexed != null && indexed.day >= evictedBeforeDay) {
+            // Postings first: a search only returns rides it also finds in the rides map
+            for (int position = 0; position < indexed.stopKeys.length; position++) {
+                int stop = position;
+                postings.compute(new CityDay(indexed.stopKeys[stop], indexed.day),
+                        (k, list) -> (list == null ? Postings.EMPTY : list).with(rideId, stop));
+            }
+            addDeparture(indexed);
+            rides.put(rideId, indexed);
+        }
+    }
+
+    /**
+     * Snapshot what the index needs from a ride; rides saved before coordinates existed are located by city name
+     */
+    private IndexedRide index(Ride ride) {
+        GeoPoint departure = ride.getDepartureLatitude() != null && ride.getDepartureLongitude() != null
+                ? new GeoPoint(ride.getDepartureLatitude(), ride.getDepartureLongitude())
+                : cityGazetteer.locate(ride.getDepartureCity()).orElse(null);
+
+        return new IndexedRide(
+                RideSummary.of(ride),
+                stopKeys(ride),
+                ride.getDepartureDateTime().toLocalDate().toEpochDay(),
+                ride.getDepartureDateTime().toEpochSecond(ZoneOffset.UTC),
+                departure);
+    }
+
+    private void addDeparture(IndexedRide indexed) {
+        if (indexed.location != null) {
+            departures.add(indexed.ride.id(), indexed.location.latitude(), indexed.location.longitude(),
+                    indexed.departure);
+        }
+    }
+
+    private void removeDeparture(IndexedRide indexed) {
+        if (indexed.location != null) {
+            departures.remove(indexed.ride.id(), indexed.location.latitude(), indexed.location.longitude());
+        }
+    }
+
+    private void evictPastDays() {
+        long today = LocalDate.now().toEpochDay();
+        if (today <= evictedBeforeDay) {
+            return;
+        }
+
+        synchronized (this) {
+            postings.headMap(new CityDay("", today)).clear();
+            rides.values().removeIf(indexed -> {
+                if (indexed.day >= today) {
+                    return false;
+                }
+                removeDeparture(indexed);
+                return true;
+            });
+            evictedBeforeDay = today;
+        }
+    }
+
+    private record CityDay(String cityKey, long day) {
+    }
+
+    private record IndexedRide(RideSummary ride, String[] stopKeys, long day, long departure, GeoPoint location) {
+    }
+
+    /**
+     * Immutable postings of one city and day: ride ids in ascending order, with the city's position on each route.
+     * Primitive arrays keep the intersection off the entity graph.
+     */
+    private record Postings(long[] rideIds, int[] positions) {
+
+        static final Postings EMPTY = new Postings(new long[0], new int[0]);
+
+        static Postings of(List<long[]> entries) {
+            entries.sort(Comparator.comparingLong(entry -> entry[0]));
+            long[] rideIds = new long[entries.size()];
+            int[] positions = new int[entries.size()];
+            for (int i = 0; i < rideIds.length; i++) {
+                rideIds[i] = entries.get(i)[0];
+                positions[i] = (int) entries.get(i)[1];
+            }
+            return new Postings(rideIds, positions);
+        }
+
+        /**
+         * Merge with the postings of another city, keeping the earliest or latest position of a ride on both
+         */
+        Postings union(Postings other, boolean earliest) {
+            long[] newRideIds = new long[rideIds.length + other.rideIds.length];
+            int[] newPositions = new int[newRideIds.length];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < rideIds.length || j < other.rideIds.length) {
+                if (j == other.rideIds.length || (i < rideIds.length && rideIds[i] < other.rideIds[j])) {
+                    newRideIds[size] = rideIds[i];
+                    newPositions[size++] = positions[i++];
+                } else if (i == rideIds.length || other.rideIds[j] < rideIds[i]) {
+                    newRideIds[size] = other.rideIds[j];
+                    newPositions[size++] = other.positions[j++];
+                } else {
+                    newRideIds[size] = rideIds[i];
+                    newPositions[size++] = earliest
+                            ? Math.min(positions[i++], other.positions[j++])
+                            : Math.max(positions[i++], other.positions[j++]);
+                }
+            }
+            return new Postings(Arrays.copyOf(newRideIds, size), Arrays.copyOf(newPositions, size));
+        }
+
+        Postings with(long rideId, int position) {
+            int pos = Arrays.binarySearch(rideIds, rideId);
+            if (pos >= 0) {
+                int[] newPositions = positions.clone();
+                newPositions[pos] = position;
+                return new Postings(rideIds, newPositions);
+            }
+            pos = -pos - 1;
+
+            int size = rideIds.length;
+            long[] newRideIds = new long[size + 1];
+            int[] newPositions = new int[size + 1];
+
+            System.arraycopy(rideIds, 0, newRideIds, 0, pos);
+            System.arraycopy(positions, 0, newPositions, 0, pos);
+
+            newRideIds[pos] = rideId;
+            newPositions[pos] = position;
+
+            System.arraycopy(rideIds, pos, newRideIds, pos + 1, size - pos);
+            System.arraycopy(positions, pos, newPositions, pos + 1, size - pos);
+
+            return new Postings(newRideIds, newPositions);
+        }
+
+        Postings without(long rideId) {
+            int pos = Arrays.binarySearch(rideIds, rideId);
+            if (pos < 0) {
+                return this;
+            }
+
+            int size = rideIds.length - 1;
+            if (size == 0) {
+                return null;
+            }
+
+            long[] newRideIds = new long[size];
+            int[] newPositions = new int[size];
+
+            System.arraycopy(rideIds, 0, newRideIds, 0, pos);
+            System.arraycopy(positions, 0, newPositions, 0, pos);
+
+            System.arraycopy(rideIds, pos + 1, newRideIds, pos, size - pos);
+            System.arraycopy(positions, pos + 1, newPositions, pos, size - pos);
+
+            return new Postings(newRideIds, newPositions);
+        }
+    }
+}
@@ -1,16 +1,35 @@
 package com.unicovoit.service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import com.unicovoit.dao.UserAccountDao;
 import com.unicovoit.dao.VehicleDao;
 import com.unicovoit.dto.CreateRideDto;
+import com.unicovoit.dto.GeoPoint;
+import com.unicovoit.dto.NearbyRide;
+import com.unicovoit.dto.RideCandidate;
+import com.unicovoit.dto.RideRow;
+import com.unicovoit.dto.RideSummary;
+import com.unicovoit.dto.SessionUser;
 import com.unicovoit.entity.*;
 import com.unicovoit.exception.BusinessException;
 import com.unicovoit.exception.ResourceNotFoundException;
 import com.unicovoit.exception.ValidationException;
+import com.unicovoit.util.CityNormalizer;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.unicovoit.dao.RideDao;
@@ -22,19 +41,31 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 public class RideService {
 
+    private static final int DEFAULT_RANKED_LIMIT = 20;
+
     private final RideDao rideDao;
     private final VehicleDao vehicleDao;
-
-    public RideService(RideDao rideDao, VehicleDao vehicleDao) {
+    private final UserAccountDao userAccountDao;
+    private final RideSearchIndex rideSearchIndex;
+    private final RideSearchCache rideSearchCache;
+    private final CityGazetteer cityGazetteer;
+
+    public RideService(RideDao rideDao, VehicleDao vehicleDao, UserAccountDao userAccountDao,
+                       RideSearchIndex rideSearchIndex, RideSearchCache rideSearchCache,
+                       CityGazetteer cityGazetteer) {
         this.rideDao = rideDao;
         this.vehicleDao = vehicleDao;
+        this.userAccountDao = userAccountDao;
+        this.rideSearchIndex = rideSearchIndex;
+        this.rideSearchCache = rideSearchCache;
+        this.cityGazetteer = cityGazetteer;
     }
 
     /**
      * Create a new ride
      */
     @Transactional
-    public Ride createRide(@Valid CreateRideDto dto, UserAccount driver) {
+    public Ride createRide(@Valid CreateRideDto dto, SessionUser driver) {
         if (driver == null) {
             throw new ValidationException("Le conducteur est obligatoire.");
         }
@@ -49,7 +80,7 @@ public class RideService {
                 .orElseThrow(() -> new ResourceNotFoundException("Véhicule", dto.getVehicleId()));
 
         // Check vehicle ownership
-        if (!vehicle.getOwner().getId().equals(driver.getId())) {
+        if (!vehicle.getOwner().getId().equals(driver.id())) {
             throw new ValidationException("Vous ne pouvez créer un trajet qu'avec vos propres véhicules.");
         }
 
@@ -58,13 +89,23 @@ public class RideService {
             throw new ValidationException("Le nombre de places proposées ne peut pas dépasser la capacité du véhicule.");
         }
 
+        List<Waypoint> waypoints = validateWaypoints(dto);
+
+        // Loaded rather than referenced: RideSearchIndex snapshots the new ride with its driver's name
+        UserAccount driverAccount = userAccountDao.findById(driver.id())
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", driver.id()));
+
         Ride ride = new Ride();
-        ride.setDriver(driver);
+        ride.setDriver(driverAccount);
         ride.setVehicle(vehicle);
         ride.setDepartureCity(dto.getDepartureCity());
+        ride.setDepartureCityKey(CityNormalizer.normalize(dto.getDepartureCity()));
         ride.setDepartureAddress(dto.getDepartureAddress());
         ride.setArrivalCity(dto.getArrivalCity());
+        ride.setArrivalCityKey(CityNormalizer.normalize(dto.getArrivalCity()));
         ride.setArrivalAddress(dto.getArrivalAddress());
+        locateCities(ride);
+        ride.setWaypoints(waypoints);
         ride.setDepartureDateTime(dto.getDepartureDateTime());
         ride.setDurationMinutes(dto.getDurationMinutes());
         ride.setPricePerSeat(dto.getPricePerSeat());
@@ -76,19 +117,23 @@ public class RideService {
         ride.setSmokingAllowed(dto.isSmokingAllowed());
         ride.setStatus(RideStatus.PUBLISHED);
 
-        return rideDao.save(ride);
+        Ride saved = rideDao.save(ride);
+        rideSearchIndex.refresh(saved);
+        rideSearchCache.invalidate(saved);
+        return saved;
     }
 
     /**
-     * Update an existing ride
+     * Update an existing ride. The waypoints are replaced by the DTO's, so a caller must send the current ones
+     * to keep them (no view edits rides yet: waypoints are only entered in CreateRideView).
      */
     @Transactional
-    public Ride updateRide(Long rideId, @Valid CreateRideDto dto, UserAccount driver) {
-        Ride ride = rideDao.findById(rideId)
+    public Ride updateRide(Long rideId, @Valid CreateRideDto dto, SessionUser driver) {
+        Ride ride = rideDao.findDetailedById(rideId)
                 .orElseThrow(() -> new ResourceNotFoundException("Trajet", rideId));
 
         // Check ownership
-        if (!ride.getDriver().getId().equals(driver.getId())) {
+        if (!ride.getDriver().getId().equals(driver.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à modifier ce trajet.");
         }
 
@@ -107,7 +152,7 @@ public class RideService {
                 .orElseThrow(() -> new ResourceNotFoundException("Véhicule", dto.getVehicleId()));
 
         // Check vehicle ownership
-        if (!vehicle.getOwner().getId().equals(driver.getId())) {
+        if (!vehicle.getOwner().getId().equals(driver.id())) {
             throw new ValidationException("Vous ne pouvez utiliser que vos propres véhicules.");
         }
 
@@ -121,11 +166,21 @@ public class RideService {
                     dto.getSeatsTotal(), seatsBooked));
         }
 
+        List<Waypoint> waypoints = validateWaypoints(dto);
+
+        // Searches on the previous route and day must drop the ride too
+        rideSearchCache.invalidate(ride);
+
         ride.setVehicle(vehicle);
         ride.setDepartureCity(dto.getDepartureCity());
+        ride.setDepartureCityKey(CityNormalizer.normalize(dto.getDepartureCity()));
         ride.setDepartureAddress(dto.getDepartureAddress());
         ride.setArrivalCity(dto.getArrivalCity());
+        ride.setArrivalCityKey(CityNormalizer.normalize(dto.getArrivalCity()));
         ride.setArrivalAddress(dto.getArrivalAddress());
+        locateCities(ride);
+        ride.getWaypoints().clear();
+        ride.getWaypoints().addAll(waypoints);
         ride.setDepartureDateTime(dto.getDepartureDateTime());
         ride.setDurationMinutes(dto.getDurationMinutes());
         ride.setPricePerSeat(dto.getPricePerSeat());
@@ -136,19 +191,22 @@ public class RideService {
         ride.setPetsAllowed(dto.isPetsAllowed());
         ride.setSmokingAllowed(dto.isSmokingAllowed());
 
-        return rideDao.save(ride);
+        Ride saved = rideDao.save(ride);
+        rideSearchIndex.refresh(saved);
+        rideSearchCache.invalidate(saved);
+        return saved;
     }
 
     /**
      * Cancel a ride
      */
     @Transactional
-    public void cancelRide(Long rideId, UserAccount driver) {
-        Ride ride = rideDao.findById(rideId)
+    public void cancelRide(Long rideId, SessionUser driver) {
+        Ride ride = rideDao.findDetailedById(rideId)
                 .orElseThrow(() -> new ResourceNotFoundException("Trajet", rideId));
 
         // Check ownership
-        if (!ride.getDriver().getId().equals(driver.getId())) {
+        if (!ride.getDriver().getId().equals(driver.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à annuler ce trajet.");
         }
 
@@ -163,18 +221,20 @@ public class RideService {
 
         ride.setStatus(RideStatus.CANCELLED);
         rideDao.save(ride);
+        rideSearchIndex.refresh(ride);
+        rideSearchCache.invalidate(ride);
     }
 
     /**
      * Mark a ride as completed
      */
     @Transactional
-    public void completeRide(Long rideId, UserAccount driver) {
-        Ride ride = rideDao.findById(rideId)
+    public void completeRide(Long rideId, SessionUser driver) {
+        Ride ride = rideDao.findDetailedById(rideId)
                 .orElseThrow(() -> new ResourceNotFoundException("Trajet", rideId));
 
         // Check ownership
-        if (!ride.getDriver().getId().equals(driver.getId())) {
+        if (!ride.getDriver().getId().equals(driver.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à marquer ce trajet comme terminé.");
         }
 
@@ -188,40 +248,289 @@ public class RideService {
 
         ride.setStatus(RideStatus.COMPLETED);
         rideDao.save(ride);
+        rideSearchIndex.refresh(ride);
+        rideSearchCache.invalidate(ride);
     }
 
     /**
-     * Search for rides
+     * Search for rides that have not left yet (results are cached per route and day by RideSearchCache;
+     * future days are answered from RideSearchIndex, earlier ones and searches before the index is loaded from the
+     * database). Both sources match city keys by prefix, waypoints included, and return immutable RideSummary
+     * snapshots.
+     * Preference, price and seat filters are applied in memory on indexed rides and in the query otherwise;
+     * filtered searches skip the cache. Flexible searches (day or time window, result limit) are ranked instead,
+     * see searchRidesRanked.
      */
     @Transactional(readOnly = true)
-    public List<Ride> searchRides(@Valid RideSearchRequestDto dto) {
-        LocalDateTime start = dto.getDate().atStartOfDay();
+    public List<RideSummary> searchRides(@Valid RideSearchRequestDto dto) {
+        RideFilter filter = RideFilter.of(dto);
+
+        if (dto.isFlexible()) {
+            return searchRidesRanked(dto, filter);
+        }
+
+        if (dto.hasFilters()) {
+            return findRides(dto, filter);
+        }
+
+        List<RideSummary> cached = rideSearchCache.get(dto.getDepartureCity(), dto.getArrivalCity(), dto.getDate(),
+                () -> findRides(dto, filter));
+
+        // A cached search for today may hold rides that have left since
+        LocalDateTime now = LocalDateTime.now();
+        return cached.stream()
+                .filter(ride -> !ride.departureDateTime().isBefore(now))
+                .toList();
+    }
+
+    private List<RideSummary> findRides(RideSearchRequestDto dto, RideFilter filter) {
+        if (rideSearchIndex.covers(dto.getDate())) {
+            return rideSearchIndex.search(dto.getDepartureCity(), dto.getArrivalCity(), dto.getDate())
+                    .stream()
+                    .filter(filter::matches)
+                    .toList();
+        }
+
+        LocalDateTime start = notBeforeNow(dto.getDate().atStartOfDay());
         LocalDateTime end = dto.getDate().atTime(LocalTime.MAX);
+        if (start.isAfter(end)) {
+            return List.of();
+        }
 
-        return rideDao.findRides(
-                dto.getDepartureCity(),
-                dto.getArrivalCity(),
+        return rideDao.findRidesByCityKeys(
+                CityNormalizer.normalize(dto.getDepartureCity()),
+                CityNormalizer.normalize(dto.getArrivalCity()),
                 start,
-                end
-        );
+                end,
+                filter.acceptedFlags(),
+                filter.maxPricePerSeat(),
+                filter.minSeats()
+        ).stream().map(RideSummary::of).toList();
+    }
+
+    /**
+     * Best rides within ±flexibleDays of the date and the time-of-day window, ranked by RideRanker
+     * (closeness to the requested time, price, seats available) and limited to the top K.
+     * Only the kept K rides are held at once; the SQL fallback ranks light rows and loads K entities.
+     */
+    private List<RideSummary> searchRidesRanked(RideSearchRequestDto dto, RideFilter filter) {
+        LocalTime timeFrom = departureTimeFrom(dto);
+        LocalTime timeTo = departureTimeTo(dto);
+        Duration timeWindow = Duration.between(timeFrom, timeTo);
+
+        int flexibleDays = flexibleDays(dto);
+        int limit = dto.getLimit() != null ? dto.getLimit() : DEFAULT_RANKED_LIMIT;
+
+        // Days already past are not worth searching when the requested date is not
+        LocalDate firstDay = dto.getDate().minusDays(flexibleDays);
+        LocalDate today = LocalDate.now();
+        if (firstDay.isBefore(today) && !dto.getDate().isBefore(today)) {
+            firstDay = today;
+        }
+        LocalDate lastDay = dto.getDate().plusDays(flexibleDays);
+
+        // Rank against the middle of the time window on the requested date
+        LocalDateTime target = dto.getDate().atTime(
+                LocalTime.ofSecondOfDay((timeFrom.toSecondOfDay() + timeTo.toSecondOfDay()) / 2));
+
+        if (rideSearchIndex.covers(firstDay)) {
+            RideRanker<RideSummary> ranker = new RideRanker<>(limit, target, flexibleDays, timeWindow);
+            for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                for (RideSummary ride : rideSearchIndex.search(dto.getDepartureCity(), dto.getArrivalCity(), day)) {
+                    if (isInTimeWindow(ride.departureDateTime(), timeFrom, timeTo) && filter.matches(ride)) {
+                        ranker.offer(ride, ride.departureDateTime(), ride.pricePerSeat(), ride.seatsAvailable());
+                    }
+                }
+            }
+            return ranker.result();
+        }
+
+        LocalDateTime start = notBeforeNow(firstDay.atStartOfDay());
+        LocalDateTime end = lastDay.atTime(LocalTime.MAX);
+        if (start.isAfter(end)) {
+            return List.of();
+        }
+
+        RideRanker<Long> ranker = new RideRanker<>(limit, target, flexibleDays, timeWindow);
+        try (Stream<RideCandidate> candidates = rideDao.streamCandidatesByCityKeys(
+                CityNormalizer.normalize(dto.getDepartureCity()),
+                CityNormalizer.normalize(dto.getArrivalCity()),
+                start,
+                end,
+                filter.acceptedFlags(),
+                filter.maxPricePerSeat(),
+                filter.minSeats())) {
+
+            candidates.filter(candidate -> isInTimeWindow(candidate.departureDateTime(), timeFrom, timeTo))
+                    .forEach(candidate -> ranker.offer(candidate.id(), candidate.departureDateTime(),
+                            candidate.pricePerSeat(), candidate.seatsAvailable()));
+        }
+
+        List<Long> rankedIds = ranker.result();
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Ride> loaded = new HashMap<>();
+        for (Ride ride : rideDao.findDetailedByIdIn(rankedIds)) {
+            loaded.put(ride.getId(), ride);
+        }
+
+        List<RideSummary> result = new ArrayList<>(rankedIds.size());
+        for (Long rideId : rankedIds) {
+            Ride ride = loaded.get(rideId);
+            if (ride != null) {
+                result.add(RideSummary.of(ride));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Search for rides departing within dto.radiusKm of the departure city and stopping later at a city whose key
+     * starts with the arrival city's, as searchRides does, with the same filters, nearest departure first.
+     * The day and time windows (±flexibleDays, departure time range) apply as in a ranked search; a limit keeps the
+     * nearest rides. Answered from RideSearchIndex only: a window entirely past or an index still loading is
+     * rejected.
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyRide> searchRidesNear(@Valid RideSearchRequestDto dto) {
+        if (dto.getRadiusKm() == null) {
+            throw new ValidationException("Le rayon de recherche est obligatoire.");
+        }
+
+        GeoPoint point = cityGazetteer.locate(dto.getDepartureCity())
+                .orElseThrow(() -> new ValidationException(
+                        "Ville de départ inconnue : " + dto.getDepartureCity() + ". Essayez une ville proche."));
+
+        LocalTime timeFrom = departureTimeFrom(dto);
+        LocalTime timeTo = departureTimeTo(dto);
+        int flexibleDays = flexibleDays(dto);
+
+        // Rides are only located in RideSearchIndex: say why there is no answer rather than return nothing
+        LocalDate today = LocalDate.now();
+        LocalDate lastDay = dto.getDate().plusDays(flexibleDays);
+        if (lastDay.isBefore(today)) {
+            throw new ValidationException("La recherche autour d'une ville ne porte que sur aujourd'hui et les jours suivants.");
+        }
+        LocalDate firstDay = dto.getDate().minusDays(flexibleDays);
+        if (firstDay.isBefore(today)) {
+            firstDay = today;
+        }
+        if (!rideSearchIndex.covers(firstDay)) {
+            throw new BusinessException("La recherche autour d'une ville est en cours de préparation. Réessayez dans quelques instants.");
+        }
+
+        String arrivalCityKey = CityNormalizer.normalize(dto.getArrivalCity());
+        RideFilter filter = RideFilter.of(dto);
+        return rideSearchIndex.searchNear(point, dto.getRadiusKm(),
+                        notBeforeNow(firstDay.atStartOfDay()), lastDay.atTime(LocalTime.MAX))
+                .stream()
+                .filter(nearby -> isInTimeWindow(nearby.ride().departureDateTime(), timeFrom, timeTo)
+                        && stopsAt(nearby.ride(), arrivalCityKey)
+                        && filter.matches(nearby.ride()))
+                .limit(dto.getLimit() != null ? dto.getLimit() : Long.MAX_VALUE)
+                .toList();
     }
 
     /**
-     * Get a ride by ID
+     * Get a ride by ID, with its driver and vehicle
      */
     @Transactional(readOnly = true)
     public Ride getRideById(Long rideId) {
-        return rideDao.findById(rideId)
+        return rideDao.findDetailedById(rideId)
                 .orElseThrow(() -> new ResourceNotFoundException("Trajet", rideId));
     }
 
     /**
-     * Get all rides created by a driver
+     * Get one page of the rides created by a driver as grid rows (latest departure first unless a sort is given)
      */
     @Transactional(readOnly = true)
-    public List<Ride> getRidesByDriver(Long driverId) {
-        return rideDao.findAll().stream()
-                .filter(ride -> ride.getDriver().getId().equals(driverId))
-                .toList();
+    public List<RideRow> getRideRowsByDriver(Long driverId, Pageable pageable) {
+        Sort sort = pageable.getSort().isSorted()
+                ? pageable.getSort().and(Sort.by(Sort.Direction.DESC, "id"))
+                : Sort.by(Sort.Direction.DESC, "departureDateTime", "id");
+        pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+
+        return rideDao.findRowsByDriverId(driverId, pageable).getContent();
+    }
+
+    /**
+     * Trim the waypoint cities and check that no city appears twice on the route
+     */
+    private List<Waypoint> validateWaypoints(CreateRideDto dto) {
+        List<Waypoint> waypoints = new ArrayList<>();
+        Set<String> stopKeys = new HashSet<>();
+        stopKeys.add(CityNormalizer.normalize(dto.getDepartureCity()));
+        stopKeys.add(CityNormalizer.normalize(dto.getArrivalCity()));
+
+        if (dto.getWaypoints() != null) {
+            for (String waypoint : dto.getWaypoints()) {
+                String city = waypoint.trim();
+                String cityKey = CityNormalizer.normalize(city);
+                if (!stopKeys.add(cityKey)) {
+                    throw new ValidationException("La ville " + city + " apparaît plusieurs fois sur le trajet.");
+                }
+                waypoints.add(new Waypoint(city, cityKey));
+            }
+        }
+        return waypoints;
+    }
+
+    /**
+     * Fill the departure coordinates (radius searches) from the offline gazetteer (left empty for unknown cities)
+     */
+    private void locateCities(Ride ride) {
+        GeoPoint departure = cityGazetteer.locate(ride.getDepartureCity()).orElse(null);
+        ride.setDepartureLatitude(departure == null ? null : departure.latitude());
+        ride.setDepartureLongitude(departure == null ? null : departure.longitude());
+    }
+
+    /**
+     * Rides that have already left are never returned, whichever source answers
+     */
+    private static LocalDateTime notBeforeNow(LocalDateTime dateTime) {
+        LocalDateTime now = LocalDateTime.now();
+        return dateTime.isBefore(now) ? now : dateTime;
+    }
+
+    /**
+     * Start of the time-of-day window of a search (midnight by default)
+     */
+    private static LocalTime departureTimeFrom(RideSearchRequestDto dto) {
+        LocalTime from = dto.getDepartureTimeFrom() != null ? dto.getDepartureTimeFrom() : LocalTime.MIN;
+        if (dto.getDepartureTimeTo() != null && from.isAfter(dto.getDepartureTimeTo())) {
+            throw new ValidationException("L'heure de départ minimale doit précéder l'heure maximale.");
+        }
+        return from;
+    }
+
+    /**
+     * End of the time-of-day window of a search (end of the day by default)
+     */
+    private static LocalTime departureTimeTo(RideSearchRequestDto dto) {
+        return dto.getDepartureTimeTo() != null ? dto.getDepartureTimeTo() : LocalTime.MAX;
+    }
+
+    private static int flexibleDays(RideSearchRequestDto dto) {
+        return dto.getFlexibleDays() != null ? dto.getFlexibleDays() : 0;
+    }
+
+    private static boolean isInTimeWindow(LocalDateTime departure, LocalTime from, LocalTime to) {
+        LocalTime time = departure.toLocalTime();
+        return !time.isBefore(from) && !time.isAfter(to);
+    }
+
+    /**
+     * Whether a ride stops after its departure (waypoint or arrival) at a city whose key starts with the prefix
+     */
+    private static boolean stopsAt(RideSummary ride, String cityKeyPrefix) {
+        String[] stopKeys = RideSearchIndex.stopKeys(ride);
+        for (int i = 1; i < stopKeys.length; i++) {
+            if (stopKeys[i].startsWith(cityKeyPrefix)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,168 @@
+package com.unicovoit.service;
+
+import com.unicovoit.dao.MessageDao;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-based cache of unread message counts per receiver, updated incrementally by MessageService.
+ * A miss loads the count from the database. A load is not cached when a write on the same stripe is committing
+ * (between beforeCommit and the delta being applied) or has committed meanwhile, since it may already include
+ * the change that the delta is about to add. The TTL bounds any remaining drift.
+ */
+@Component
+public class UnreadMessageCounter {
+
+    private static final int STRIPES = 64;
+
+    private final MessageDao messageDao;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<Long, Entry> counts = new ConcurrentHashMap<>();
+    private final AtomicLongArray stripeVersions = new AtomicLongArray(STRIPES);
+    private final AtomicIntegerArray committingWrites = new AtomicIntegerArray(STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UnreadMessageCounter(MessageDao messageDao,
+                                @Value("${unicovoit.unread-counter.max-entries:10000}") int maxEntries,
+                                @Value("${unicovoit.unread-counter.ttl-seconds:300}") long ttlSeconds) {
+        this.messageDao = messageDao;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * Get the unread count of a receiver, loading it on a miss (not cached when max-entries is 0 or less)
+     */
+    public long get(Long receiverId) {
+        long now = System.nanoTime();
+        Entry cached = counts.get(receiverId);
+        if (cached != null && now - cached.expiresAt < 0) {
+            hits.increment();
+            return cached.count.get();
+        }
+
+        misses.increment();
+        int stripe = stripe(receiverId);
+        long version = stripeVersions.get(stripe);
+        boolean cacheable = maxEntries > 0 && committingWrites.get(stripe) == 0;
+
+        long loaded = messageDao.countByReceiverIdAndReadFalse(receiverId);
+        if (!cacheable) {
+            return loaded;
+        }
+
+        makeRoom(now);
+        Entry fresh = new Entry(new AtomicLong(loaded), now + ttlNanos);
+        counts.put(receiverId, fresh);
+        if (stripeVersions.get(stripe) != version) {
+            // A write started committing during the load: let the next read rebuild it
+            counts.remove(receiverId, fresh);
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Apply a change to a receiver's unread count once the transaction commits.
+     * From beforeCommit until the delta is applied, loads on the receiver's stripe are not cached.
+     */
+    public void add(Long receiverId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(receiverId, delta);
+            return;
+        }
+
+        int stripe = stripe(receiverId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committingWrites.incrementAndGet(stripe);
+                stripeVersions.incrementAndGet(stripe);
+                committing = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(receiverId, delta);
+                committingWrites.decrementAndGet(stripe);
+                committing = false;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (committing) {
+                    // Rolled back after beforeCommit: nothing to apply, but loads may have seen either state
+                    stripeVersions.incrementAndGet(stripe);
+                    counts.remove(receiverId);
+                    committingWrites.decrementAndGet(stripe);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop a receiver's cached count (rebuilt on the next read)
+     */
+    public void evict(Long receiverId) {
+        stripeVersions.incrementAndGet(stripe(receiverId));
+        counts.remove(receiverId);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int getCachedReceiverCount() {
+        return counts.size();
+    }
+
+    private void apply(Long receiverId, long delta) {
+        stripeVersions.incrementAndGet(stripe(receiverId));
+        // A count going negative means the cached value drifted: drop it instead of clamping
+        counts.computeIfPresent(receiverId, (k, entry) -> entry.count.addAndGet(delta) < 0 ? null : entry);
+    }
+
+    /**
+     * Keep the cache under its bound: drop expired entries, then the ones closest to expiry
+     */
+    private void makeRoom(long now) {
+        if (counts.size() < maxEntries) {
+            return;
+        }
+
+        counts.values().removeIf(entry -> now - entry.expiresAt >= 0);
+        while (counts.size() >= maxEntries) {
+            counts.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().expiresAt))
+                    .ifPresent(oldest -> counts.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private static int stripe(Long receiverId) {
+        return Long.hashCode(receiverId) & (STRIPES - 1);
+    }
+
+    private record Entry(AtomicLong count, long expiresAt) {
+    }
+}
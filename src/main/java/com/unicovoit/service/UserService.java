@@ -1,13 +1,18 @@
 package com.unicovoit.service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.unicovoit.exception.AuthenticationException;
 import com.unicovoit.exception.ValidationException;
 import jakarta.validation.Valid;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.unicovoit.dao.UserAccountDao;
 import com.unicovoit.dto.LoginRequestDto;
@@ -20,52 +25,85 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     private final UserAccountDao userAccountDao;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginRateLimiter loginRateLimiter;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
 
     public UserService(UserAccountDao userAccountDao,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordHasher passwordHasher,
+                       LoginRateLimiter loginRateLimiter,
+                       PlatformTransactionManager transactionManager,
+                       TaskExecutor taskExecutor) {
         this.userAccountDao = userAccountDao;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.loginRateLimiter = loginRateLimiter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
     }
 
-    @Transactional
-    public UserAccount registerStudent(@Valid RegisterRequestDto dto) {
+    /**
+     * Register a student. The password is hashed on the PasswordHasher pool, then the account is saved in its own
+     * transaction on the application task executor, so neither the caller's thread nor a hashing thread waits.
+     */
+    public CompletableFuture<UserAccount> registerStudentAsync(@Valid RegisterRequestDto dto) {
 
         // Check password confirmation
         if (!dto.getPassword().equals(dto.getConfirmPassword())) {
-            throw new ValidationException("Les mots de passe ne correspondent pas.");
+            return CompletableFuture.failedFuture(new ValidationException("Les mots de passe ne correspondent pas."));
         }
 
         // Check if email already exists
         if (userAccountDao.existsByEmail(dto.getEmail())) {
-            throw new ValidationException("Cette adresse email est déjà utilisée.");
+            return CompletableFuture.failedFuture(new ValidationException("Cette adresse email est déjà utilisée."));
         }
 
-        UserAccount user = new UserAccount();
-        user.setFirstName(dto.getFirstName());
-        user.setLastName(dto.getLastName());
-        user.setEmail(dto.getEmail());
-        user.setUniversity(dto.getUniversity());
-        user.setRole(Role.STUDENT); // default role
-        user.setPasswordHash(passwordEncoder.encode(dto.getPassword()));
-
-        return userAccountDao.save(user);
+        return passwordHasher.encode(dto.getPassword())
+                .thenApplyAsync(passwordHash -> transactionTemplate.execute(status -> {
+                    UserAccount user = new UserAccount();
+                    user.setFirstName(dto.getFirstName());
+                    user.setLastName(dto.getLastName());
+                    user.setEmail(dto.getEmail());
+                    user.setUniversity(dto.getUniversity());
+                    user.setRole(Role.STUDENT); // default role
+                    user.setPasswordHash(passwordHash);
+
+                    return userAccountDao.save(user);
+                }), taskExecutor);
     }
 
-    @Transactional(readOnly = true)
-    public UserAccount authenticate(@Valid LoginRequestDto dto) {
+    /**
+     * Authenticate a user; the password check runs on the PasswordHasher pool.
+     * A hash weaker than the configured cost is upgraded in the background after a successful login.
+     * Attempts over the per-address or per-email rate are rejected before any lookup or hashing.
+     */
+    public CompletableFuture<UserAccount> authenticateAsync(@Valid LoginRequestDto dto, String clientAddress) {
+        try {
+            loginRateLimiter.acquire(dto.getEmail(), clientAddress);
+        } catch (AuthenticationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
         Optional<UserAccount> optionalUser = userAccountDao.findByEmail(dto.getEmail());
         if (optionalUser.isEmpty()) {
-            throw new AuthenticationException("Email ou mot de passe incorrect.");
+            return CompletableFuture.failedFuture(new AuthenticationException("Email ou mot de passe incorrect."));
         }
 
         UserAccount user = optionalUser.get();
-        if (!passwordEncoder.matches(dto.getPassword(), user.getPasswordHash())) {
-            throw new AuthenticationException("Email ou mot de passe incorrect.");
-        }
-
-        return user;
+        return passwordHasher.matches(dto.getPassword(), user.getPasswordHash())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new AuthenticationException("Email ou mot de passe incorrect.");
+                    }
+                    loginRateLimiter.reset(dto.getEmail(), clientAddress);
+                    if (passwordHasher.needsRehash(user.getPasswordHash())) {
+                        upgradePasswordHash(user.getId(), user.getPasswordHash(), dto.getPassword());
+                    }
+                    return user;
+                });
     }
 
     @Transactional(readOnly = true)
@@ -79,4 +117,26 @@ public class UserService {
         return userAccountDao.findByEmail(email)
                 .orElseThrow(() -> new ValidationException("Utilisateur non trouvé."));
     }
+
+    /**
+     * Re-hash a password at the configured cost without delaying the login.
+     * Skipped while the hashing pool is busy (the next login retries); the stored hash is only replaced
+     * if it has not changed in the meantime.
+     */
+    private void upgradePasswordHash(Long userId, String currentHash, String rawPassword) {
+        if (!passwordHasher.isIdle()) {
+            return;
+        }
+
+        // The write goes to the application task executor: the hashing pool only hashes
+        passwordHasher.encode(rawPassword)
+                .thenAcceptAsync(newHash -> transactionTemplate.executeWithoutResult(status ->
+                        userAccountDao.findById(userId)
+                                .filter(user -> currentHash.equals(user.getPasswordHash()))
+                                .ifPresent(user -> user.setPasswordHash(newHash))), taskExecutor)
+                .exceptionally(ex -> {
+                    log.warn("Password hash upgrade for user {} failed: {}", userId, ex.getMessage());
+                    return null;
+                });
+    }
 }
@@ -1,8 +1,10 @@
 package com.unicovoit.service;
 
+import com.unicovoit.dao.UserAccountDao;
 import com.unicovoit.dao.VehicleDao;
+import com.unicovoit.dto.SessionUser;
 import com.unicovoit.dto.VehicleDto;
-import com.unicovoit.entity.UserAccount;
+import com.unicovoit.dto.VehicleRow;
 import com.unicovoit.entity.Vehicle;
 import com.unicovoit.exception.ResourceNotFoundException;
 import com.unicovoit.exception.ValidationException;
@@ -18,22 +20,24 @@ import java.util.List;
 public class VehicleService {
 
     private final VehicleDao vehicleDao;
+    private final UserAccountDao userAccountDao;
 
-    public VehicleService(VehicleDao vehicleDao) {
+    public VehicleService(VehicleDao vehicleDao, UserAccountDao userAccountDao) {
         this.vehicleDao = vehicleDao;
+        this.userAccountDao = userAccountDao;
     }
 
     /**
      * Create a new vehicle for a user
      */
     @Transactional
-    public Vehicle createVehicle(@Valid VehicleDto dto, UserAccount owner) {
+    public Vehicle createVehicle(@Valid VehicleDto dto, SessionUser owner) {
         if (owner == null) {
             throw new ValidationException("Le propriétaire du véhicule est obligatoire.");
         }
 
         Vehicle vehicle = new Vehicle();
-        vehicle.setOwner(owner);
+        vehicle.setOwner(userAccountDao.getReferenceById(owner.id()));
         vehicle.setBrand(dto.getBrand());
         vehicle.setModel(dto.getModel());
         vehicle.setColor(dto.getColor());
@@ -47,12 +51,12 @@ public class VehicleService {
      * Update an existing vehicle
      */
     @Transactional
-    public Vehicle updateVehicle(Long vehicleId, @Valid VehicleDto dto, UserAccount owner) {
+    public Vehicle updateVehicle(Long vehicleId, @Valid VehicleDto dto, SessionUser owner) {
         Vehicle vehicle = vehicleDao.findById(vehicleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Véhicule", vehicleId));
 
         // Check ownership
-        if (!vehicle.getOwner().getId().equals(owner.getId())) {
+        if (!vehicle.getOwner().getId().equals(owner.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à modifier ce véhicule.");
         }
 
@@ -69,12 +73,12 @@ public class VehicleService {
      * Delete a vehicle
      */
     @Transactional
-    public void deleteVehicle(Long vehicleId, UserAccount owner) {
+    public void deleteVehicle(Long vehicleId, SessionUser owner) {
         Vehicle vehicle = vehicleDao.findById(vehicleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Véhicule", vehicleId));
 
         // Check ownership
-        if (!vehicle.getOwner().getId().equals(owner.getId())) {
+        if (!vehicle.getOwner().getId().equals(owner.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à supprimer ce véhicule.");
         }
 
@@ -89,6 +93,14 @@ public class VehicleService {
         return vehicleDao.findByOwnerId(userId);
     }
 
+    /**
+     * Get the grid rows of a user's vehicles
+     */
+    @Transactional(readOnly = true)
+    public List<VehicleRow> getUserVehicleRows(Long userId) {
+        return vehicleDao.findRowsByOwnerId(userId);
+    }
+
     /**
      * Get a vehicle by ID
      */
@@ -102,10 +114,10 @@ public class VehicleService {
      * Get a vehicle by ID and verify ownership
      */
     @Transactional(readOnly = true)
-    public Vehicle getVehicleByIdAndOwner(Long vehicleId, UserAccount owner) {
+    public Vehicle getVehicleByIdAndOwner(Long vehicleId, SessionUser owner) {
         Vehicle vehicle = getVehicleById(vehicleId);
 
-        if (!vehicle.getOwner().getId().equals(owner.getId())) {
+        if (!vehicle.getOwner().getId().equals(owner.id())) {
             throw new ValidationException("Vous n'êtes pas autorisé à accéder à ce véhicule.");
         }
 
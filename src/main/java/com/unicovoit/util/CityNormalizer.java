@@ -0,0 +1,29 @@
+package com.unicovoit.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for building normalized city search keys
+ * (e.g. "  Saint-Étienne " -> "saint etienne")
+ */
+public class CityNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Lower-case, strip accents, and collapse punctuation and whitespace into single spaces
+     */
+    public static String normalize(String city) {
+        if (city == null) {
+            return "";
+        }
+
+        String key = Normalizer.normalize(city, Normalizer.Form.NFD);
+        key = DIACRITICS.matcher(key).replaceAll("");
+        key = key.toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(key).replaceAll(" ").trim();
+    }
+}
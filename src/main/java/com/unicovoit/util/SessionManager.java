@@ -1,5 +1,6 @@
 package com.unicovoit.util;
 
+import com.unicovoit.dto.SessionUser;
 import com.unicovoit.entity.UserAccount;
 import com.vaadin.flow.server.VaadinSession;
 
@@ -11,17 +12,17 @@ public class SessionManager {
     private static final String USER_SESSION_ATTRIBUTE = "currentUser";
 
     /**
-     * Store the current user in the session
+     * Store the current user in the session (as a compact SessionUser, not the entity)
      */
     public static void setCurrentUser(UserAccount user) {
-        VaadinSession.getCurrent().setAttribute(USER_SESSION_ATTRIBUTE, user);
+        VaadinSession.getCurrent().setAttribute(USER_SESSION_ATTRIBUTE, user != null ? SessionUser.from(user) : null);
     }
 
     /**
      * Get the current logged-in user from the session
      */
-    public static UserAccount getCurrentUser() {
-        return VaadinSession.getCurrent().getAttribute(UserAccount.class);
+    public static SessionUser getCurrentUser() {
+        return (SessionUser) VaadinSession.getCurrent().getAttribute(USER_SESSION_ATTRIBUTE);
     }
 
     /**
@@ -43,15 +44,15 @@ public class SessionManager {
      * Get the current user ID
      */
     public static Long getCurrentUserId() {
-        UserAccount user = getCurrentUser();
-        return user != null ? user.getId() : null;
+        SessionUser user = getCurrentUser();
+        return user != null ? user.id() : null;
     }
 
     /**
      * Get the current user's full name
      */
     public static String getCurrentUserFullName() {
-        UserAccount user = getCurrentUser();
-        return user != null ? user.getFirstName() + " " + user.getLastName() : "";
+        SessionUser user = getCurrentUser();
+        return user != null ? user.fullName() : "";
     }
 }
@@ -2,10 +2,13 @@ package com.unicovoit.views.auth;
 
 import com.unicovoit.dto.LoginRequestDto;
 import com.unicovoit.entity.UserAccount;
+import com.unicovoit.service.ClientAddressResolver;
 import com.unicovoit.service.UserService;
 import com.unicovoit.util.NotificationHelper;
 import com.unicovoit.util.SessionManager;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Key;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.*;
@@ -18,20 +21,26 @@ import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.shared.communication.PushMode;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
+import java.util.concurrent.CompletionException;
+
 @Route("login")
 @PageTitle("Connexion | UniCovoit")
 public class LoginView extends VerticalLayout implements BeforeEnterObserver {
 
     private final UserService userService;
+    private final ClientAddressResolver clientAddressResolver;
 
     private final EmailField emailField = new EmailField();
     private final PasswordField passwordField = new PasswordField();
     private final Button loginButton = new Button("Se connecter");
 
-    public LoginView(UserService userService) {
+    public LoginView(UserService userService, ClientAddressResolver clientAddressResolver) {
         this.userService = userService;
+        this.clientAddressResolver = clientAddressResolver;
 
         // Redirect if already logged in
         if (SessionManager.isLoggedIn()) {
@@ -118,25 +127,51 @@ public class LoginView extends VerticalLayout implements BeforeEnterObserver {
         loginButton.setEnabled(false);
         loginButton.setText("Connexion...");
 
+        UI ui = UI.getCurrent();
         try {
             LoginRequestDto dto = new LoginRequestDto();
             dto.setEmail(emailField.getValue().trim());
             dto.setPassword(passwordField.getValue());
 
-            UserAccount user = userService.authenticate(dto);
-
-            SessionManager.setCurrentUser(user);
-            NotificationHelper.showSuccess("Bienvenue " + user.getFirstName() + " !");
-
-            getUI().ifPresent(ui -> ui.navigate(""));
+            // The password check runs on the hashing pool; the result comes back through push
+            String clientAddress = resolveClientAddress(ui);
+            userService.authenticateAsync(dto, clientAddress).whenComplete((user, ex) -> ui.access(() -> {
+                if (ex != null) {
+                    onLoginFailed(ex instanceof CompletionException ? ex.getCause() : ex);
+                } else {
+                    onLoggedIn(user);
+                }
+            }));
 
         } catch (Exception ex) {
-            NotificationHelper.showError(ex.getMessage());
-            loginButton.setEnabled(true);
-            loginButton.setText("Se connecter");
+            onLoginFailed(ex);
         }
     }
 
+    /**
+     * The client address behind any trusted proxies; the browser details only hold the connection's address
+     */
+    private String resolveClientAddress(UI ui) {
+        VaadinRequest request = VaadinRequest.getCurrent();
+        if (request == null) {
+            return ui.getSession().getBrowser().getAddress();
+        }
+        return clientAddressResolver.resolve(request.getRemoteAddr(), request.getHeader("X-Forwarded-For"));
+    }
+
+    private void onLoggedIn(UserAccount user) {
+        SessionManager.setCurrentUser(user);
+        NotificationHelper.showSuccess("Bienvenue " + user.getFirstName() + " !");
+
+        getUI().ifPresent(ui -> ui.navigate(""));
+    }
+
+    private void onLoginFailed(Throwable ex) {
+        NotificationHelper.showError(ex.getMessage());
+        loginButton.setEnabled(true);
+        loginButton.setText("Se connecter");
+    }
+
     private boolean validateForm() {
         boolean valid = true;
 
@@ -163,6 +198,12 @@ public class LoginView extends VerticalLayout implements BeforeEnterObserver {
         return valid;
     }
 
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        attachEvent.getUI().getPushConfiguration().setPushMode(PushMode.AUTOMATIC);
+    }
+
     @Override
     public void beforeEnter(BeforeEnterEvent event) {
         if (SessionManager.isLoggedIn()) {
@@ -5,7 +5,9 @@ import com.unicovoit.entity.UserAccount;
 import com.unicovoit.service.UserService;
 import com.unicovoit.util.NotificationHelper;
 import com.unicovoit.util.SessionManager;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Key;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.*;
@@ -18,8 +20,11 @@ import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.shared.communication.PushMode;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
+import java.util.concurrent.CompletionException;
+
 @Route("register")
 @PageTitle("Inscription | UniCovoit")
 public class RegisterView extends VerticalLayout implements BeforeEnterObserver {
@@ -151,6 +156,7 @@ public class RegisterView extends VerticalLayout implements BeforeEnterObserver
         registerButton.setEnabled(false);
         registerButton.setText("Création du compte...");
 
+        UI ui = UI.getCurrent();
         try {
             RegisterRequestDto dto = new RegisterRequestDto();
             dto.setFirstName(firstNameField.getValue().trim());
@@ -160,20 +166,33 @@ public class RegisterView extends VerticalLayout implements BeforeEnterObserver
             dto.setPassword(passwordField.getValue());
             dto.setConfirmPassword(confirmPasswordField.getValue());
 
-            UserAccount user = userService.registerStudent(dto);
-
-            SessionManager.setCurrentUser(user);
-            NotificationHelper.showSuccess("Compte créé avec succès ! Bienvenue " + user.getFirstName() + " !");
-
-            getUI().ifPresent(ui -> ui.navigate(""));
+            // Hashing and saving run off the request thread; the result comes back through push
+            userService.registerStudentAsync(dto).whenComplete((user, ex) -> ui.access(() -> {
+                if (ex != null) {
+                    onRegisterFailed(ex instanceof CompletionException ? ex.getCause() : ex);
+                } else {
+                    onRegistered(user);
+                }
+            }));
 
         } catch (Exception ex) {
-            NotificationHelper.showError(ex.getMessage());
-            registerButton.setEnabled(true);
-            registerButton.setText("Créer mon compte");
+            onRegisterFailed(ex);
         }
     }
 
+    private void onRegistered(UserAccount user) {
+        SessionManager.setCurrentUser(user);
+        NotificationHelper.showSuccess("Compte créé avec succès ! Bienvenue " + user.getFirstName() + " !");
+
+        getUI().ifPresent(ui -> ui.navigate(""));
+    }
+
+    private void onRegisterFailed(Throwable ex) {
+        NotificationHelper.showError(ex.getMessage());
+        registerButton.setEnabled(true);
+        registerButton.setText("Créer mon compte");
+    }
+
     private boolean validateForm() {
         boolean valid = true;
 
@@ -244,6 +263,12 @@ public class RegisterView extends VerticalLayout implements BeforeEnterObserver
         return valid;
     }
 
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        attachEvent.getUI().getPushConfiguration().setPushMode(PushMode.AUTOMATIC);
+    }
+
     @Override
     public void beforeEnter(BeforeEnterEvent event) {
         if (SessionManager.isLoggedIn()) {
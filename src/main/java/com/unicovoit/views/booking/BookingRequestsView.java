@@ -1,6 +1,6 @@
 package com.unicovoit.views.booking;
 
-import com.unicovoit.entity.Booking;
+import com.unicovoit.dto.BookingRow;
 import com.unicovoit.entity.BookingStatus;
 import com.unicovoit.service.BookingService;
 import com.unicovoit.util.NotificationHelper;
@@ -14,19 +14,22 @@ import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.stream.Stream;
 
 @Route(value = "booking-requests", layout = MainLayout.class)
 @PageTitle("Demandes de réservation | UniCovoit")
 public class BookingRequestsView extends VerticalLayout {
 
     private final BookingService bookingService;
-    private final Grid<Booking> grid = new Grid<>(Booking.class, false);
+    private final Grid<BookingRow> grid = new Grid<>(BookingRow.class, false);
+    private final Select<BookingStatus> statusFilter = new Select<>();
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
     public BookingRequestsView(BookingService bookingService) {
@@ -62,7 +65,17 @@ public class BookingRequestsView extends VerticalLayout {
         myRidesButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
         myRidesButton.addClickListener(e -> getUI().ifPresent(ui -> ui.navigate("my-rides")));
 
-        header.add(titleSection, myRidesButton);
+        statusFilter.setItems(BookingStatus.values());
+        statusFilter.setItemLabelGenerator(BookingRequestsView::statusLabel);
+        statusFilter.setEmptySelectionAllowed(true);
+        statusFilter.setEmptySelectionCaption("Tous les statuts");
+        statusFilter.setPlaceholder("Tous les statuts");
+        statusFilter.addValueChangeListener(e -> grid.getDataProvider().refreshAll());
+
+        HorizontalLayout actions = new HorizontalLayout(statusFilter, myRidesButton);
+        actions.setAlignItems(Alignment.CENTER);
+
+        header.add(titleSection, actions);
         return header;
     }
 
@@ -82,29 +95,31 @@ public class BookingRequestsView extends VerticalLayout {
         grid.setSizeFull();
 
         grid.addColumn(booking ->
-            booking.getRide().getDepartureCity() + " → " + booking.getRide().getArrivalCity())
+            booking.departureCity() + " → " + booking.arrivalCity())
                 .setHeader("Trajet")
-                .setSortable(true)
+                .setSortProperty("ride.departureCity", "ride.arrivalCity")
                 .setFlexGrow(2);
 
         grid.addColumn(booking ->
-            booking.getRide().getDepartureDateTime().format(DATE_FORMATTER))
+            booking.departureDateTime().format(DATE_FORMATTER))
                 .setHeader("Date de départ")
-                .setSortable(true)
+                .setSortProperty("ride.departureDateTime")
                 .setFlexGrow(1);
 
         grid.addColumn(booking ->
-            booking.getPassenger().getFirstName() + " " +
-            booking.getPassenger().getLastName())
+            booking.passengerFirstName() + " " +
+            booking.passengerLastName())
                 .setHeader("Passager")
+                .setSortProperty("passenger.lastName", "passenger.firstName")
                 .setFlexGrow(1);
 
-        grid.addColumn(booking -> booking.getPassenger().getUniversity())
+        grid.addColumn(BookingRow::passengerUniversity)
                 .setHeader("Université")
                 .setFlexGrow(1);
 
-        grid.addColumn(Booking::getSeatsBooked)
+        grid.addColumn(BookingRow::seatsBooked)
                 .setHeader("Places")
+                .setSortProperty("seatsBooked")
                 .setFlexGrow(0)
                 .setWidth("100px");
 
@@ -121,7 +136,7 @@ public class BookingRequestsView extends VerticalLayout {
         grid.setEmptyStateText("Aucune demande de réservation");
     }
 
-    private Span createStatusBadge(Booking booking) {
+    private Span createStatusBadge(BookingRow booking) {
         Span badge = new Span();
         badge.getStyle()
                 .set("padding", "4px 12px")
@@ -129,7 +144,7 @@ public class BookingRequestsView extends VerticalLayout {
                 .set("font-size", "0.875rem")
                 .set("font-weight", "500");
 
-        switch (booking.getStatus()) {
+        switch (booking.status()) {
             case PENDING:
                 badge.setText("En attente");
                 badge.getStyle()
@@ -159,7 +174,7 @@ public class BookingRequestsView extends VerticalLayout {
         return badge;
     }
 
-    private HorizontalLayout createActionButtons(Booking booking) {
+    private HorizontalLayout createActionButtons(BookingRow booking) {
         HorizontalLayout actions = new HorizontalLayout();
         actions.setSpacing(true);
 
@@ -173,7 +188,7 @@ public class BookingRequestsView extends VerticalLayout {
 
         actions.add(viewRideButton, contactButton);
 
-        if (booking.getStatus() == BookingStatus.PENDING) {
+        if (booking.status() == BookingStatus.PENDING) {
             Button confirmButton = new Button("Confirmer", VaadinIcon.CHECK.create());
             confirmButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_SUCCESS);
             confirmButton.addClickListener(e -> confirmBooking(booking));
@@ -189,39 +204,70 @@ public class BookingRequestsView extends VerticalLayout {
     }
 
     private void loadBookingRequests() {
-        try {
-            List<Booking> bookings = bookingService.getDriverBookings(SessionManager.getCurrentUserId());
-            grid.setItems(bookings);
-        } catch (Exception ex) {
-            NotificationHelper.showError("Erreur lors du chargement des demandes: " + ex.getMessage());
+        Long driverId = SessionManager.getCurrentUserId();
+
+        // Lazy data provider: one page of bookings per fetch, pending requests first
+        grid.setItems(query -> {
+            try {
+                return bookingService.getDriverBookingRows(driverId, statusFilter.getValue(),
+                        VaadinSpringDataHelpers.toSpringPageRequest(query)).stream();
+            } catch (Exception ex) {
+                NotificationHelper.showError("Erreur lors du chargement des demandes: " + ex.getMessage());
+                return Stream.empty();
+            }
+        }).setIdentifierProvider(BookingRow::id);
+    }
+
+    /**
+     * Re-read one booking after an update and redraw only its row
+     */
+    private void refreshBooking(BookingRow booking) {
+        BookingRow updated = bookingService.getBookingRow(booking.id());
+        if (statusFilter.getValue() != null && statusFilter.getValue() != updated.status()) {
+            grid.getDataProvider().refreshAll();
+        } else {
+            grid.getLazyDataView().refreshItem(updated);
+        }
+    }
+
+    private static String statusLabel(BookingStatus status) {
+        if (status == null) {
+            return "Tous les statuts";
         }
+        return switch (status) {
+            case PENDING -> "En attente";
+            case CONFIRMED -> "Confirmée";
+            case CANCELLED_BY_DRIVER -> "Refusée";
+            case CANCELLED_BY_PASSENGER -> "Annulée (passager)";
+            default -> status.name();
+        };
     }
 
-    private void viewRide(Booking booking) {
-        getUI().ifPresent(ui -> ui.navigate("rides/" + booking.getRide().getId()));
+    private void viewRide(BookingRow booking) {
+        getUI().ifPresent(ui -> ui.navigate("rides/" + booking.rideId()));
     }
 
-    private void contactPassenger(Booking booking) {
-        getUI().ifPresent(ui -> ui.navigate("messages/" + booking.getPassenger().getId()));
+    private void contactPassenger(BookingRow booking) {
+        getUI().ifPresent(ui -> ui.navigate("messages/" + booking.passengerId()));
     }
 
-    private void confirmBooking(Booking booking) {
+    private void confirmBooking(BookingRow booking) {
         try {
-            bookingService.confirmBooking(booking.getId(), SessionManager.getCurrentUser());
+            bookingService.confirmBooking(booking.id(), SessionManager.getCurrentUser());
             NotificationHelper.showSuccess("Réservation confirmée !");
-            loadBookingRequests();
+            refreshBooking(booking);
         } catch (Exception ex) {
             NotificationHelper.showError("Erreur: " + ex.getMessage());
         }
     }
 
-    private void confirmRejectBooking(Booking booking) {
+    private void confirmRejectBooking(BookingRow booking) {
         ConfirmDialog dialog = new ConfirmDialog();
         dialog.setHeader("Refuser la réservation");
         dialog.setText(String.format(
                 "Êtes-vous sûr de vouloir refuser la réservation de %s %s ?",
-                booking.getPassenger().getFirstName(),
-                booking.getPassenger().getLastName()
+                booking.passengerFirstName(),
+                booking.passengerLastName()
         ));
 
         dialog.setCancelable(true);
@@ -235,11 +281,11 @@ public class BookingRequestsView extends VerticalLayout {
         dialog.open();
     }
 
-    private void rejectBooking(Booking booking) {
+    private void rejectBooking(BookingRow booking) {
         try {
-            bookingService.cancelBookingByDriver(booking.getId(), SessionManager.getCurrentUser());
+            bookingService.cancelBookingByDriver(booking.id(), SessionManager.getCurrentUser());
             NotificationHelper.showSuccess("Réservation refusée");
-            loadBookingRequests();
+            refreshBooking(booking);
         } catch (Exception ex) {
             NotificationHelper.showError("Erreur: " + ex.getMessage());
         }
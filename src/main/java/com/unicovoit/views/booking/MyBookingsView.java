@@ -1,6 +1,6 @@
 package com.unicovoit.views.booking;
 
-import com.unicovoit.entity.Booking;
+import com.unicovoit.dto.BookingRow;
 import com.unicovoit.entity.BookingStatus;
 import com.unicovoit.service.BookingService;
 import com.unicovoit.util.NotificationHelper;
@@ -8,25 +8,31 @@ import com.unicovoit.util.SessionManager;
 import com.unicovoit.views.layout.MainLayout;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.combobox.MultiSelectComboBox;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.stream.Stream;
 
 @Route(value = "my-bookings", layout = MainLayout.class)
 @PageTitle("Mes réservations | UniCovoit")
 public class MyBookingsView extends VerticalLayout {
 
     private final BookingService bookingService;
-    private final Grid<Booking> grid = new Grid<>(Booking.class, false);
+    private final Grid<BookingRow> grid = new Grid<>(BookingRow.class, false);
+    private final Select<Period> periodFilter = new Select<>();
+    private final MultiSelectComboBox<BookingStatus> statusFilter = new MultiSelectComboBox<>();
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
     public MyBookingsView(BookingService bookingService) {
@@ -71,40 +77,55 @@ public class MyBookingsView extends VerticalLayout {
         section.setSizeFull();
         section.setPadding(false);
 
+        configureFilters();
         configureGrid();
-        section.add(grid);
+        section.add(new HorizontalLayout(periodFilter, statusFilter), grid);
 
         return section;
     }
 
+    private void configureFilters() {
+        periodFilter.setLabel("Période");
+        periodFilter.setItems(Period.values());
+        periodFilter.setItemLabelGenerator(Period::getLabel);
+        periodFilter.setValue(Period.UPCOMING);
+        periodFilter.addValueChangeListener(e -> grid.getDataProvider().refreshAll());
+
+        statusFilter.setLabel("Statut");
+        statusFilter.setPlaceholder("Tous les statuts");
+        statusFilter.setItems(BookingStatus.values());
+        statusFilter.setItemLabelGenerator(MyBookingsView::statusLabel);
+        statusFilter.addValueChangeListener(e -> grid.getDataProvider().refreshAll());
+    }
+
     private void configureGrid() {
         grid.addClassName("bookings-grid");
         grid.setSizeFull();
 
         grid.addColumn(booking ->
-            booking.getRide().getDepartureCity() + " → " + booking.getRide().getArrivalCity())
+            booking.departureCity() + " → " + booking.arrivalCity())
                 .setHeader("Trajet")
-                .setSortable(true)
+                .setSortProperty("ride.departureCity", "ride.arrivalCity")
                 .setFlexGrow(2);
 
         grid.addColumn(booking ->
-            booking.getRide().getDepartureDateTime().format(DATE_FORMATTER))
+            booking.departureDateTime().format(DATE_FORMATTER))
                 .setHeader("Date de départ")
-                .setSortable(true)
+                .setSortProperty("ride.departureDateTime")
                 .setFlexGrow(1);
 
         grid.addColumn(booking ->
-            booking.getRide().getDriver().getFirstName() + " " +
-            booking.getRide().getDriver().getLastName())
+            booking.driverFirstName() + " " +
+            booking.driverLastName())
                 .setHeader("Conducteur")
                 .setFlexGrow(1);
 
-        grid.addColumn(Booking::getSeatsBooked)
+        grid.addColumn(BookingRow::seatsBooked)
                 .setHeader("Places")
                 .setFlexGrow(0)
                 .setWidth("100px");
 
-        grid.addColumn(booking -> booking.getRide().getPricePerSeat() + " €")
+        grid.addColumn(booking -> booking.pricePerSeat() + " €")
                 .setHeader("Prix")
                 .setFlexGrow(0)
                 .setWidth("100px");
@@ -122,7 +143,7 @@ public class MyBookingsView extends VerticalLayout {
         grid.setEmptyStateText("Aucune réservation");
     }
 
-    private Span createStatusBadge(Booking booking) {
+    private Span createStatusBadge(BookingRow booking) {
         Span badge = new Span();
         badge.getStyle()
                 .set("padding", "4px 12px")
@@ -130,7 +151,7 @@ public class MyBookingsView extends VerticalLayout {
                 .set("font-size", "0.875rem")
                 .set("font-weight", "500");
 
-        switch (booking.getStatus()) {
+        switch (booking.status()) {
             case PENDING:
                 badge.setText("En attente");
                 badge.getStyle()
@@ -160,7 +181,7 @@ public class MyBookingsView extends VerticalLayout {
         return badge;
     }
 
-    private HorizontalLayout createActionButtons(Booking booking) {
+    private HorizontalLayout createActionButtons(BookingRow booking) {
         HorizontalLayout actions = new HorizontalLayout();
         actions.setSpacing(true);
 
@@ -170,7 +191,7 @@ public class MyBookingsView extends VerticalLayout {
 
         actions.add(viewButton);
 
-        if (booking.getStatus() == BookingStatus.PENDING || booking.getStatus() == BookingStatus.CONFIRMED) {
+        if (booking.status() == BookingStatus.PENDING || booking.status() == BookingStatus.CONFIRMED) {
             Button cancelButton = new Button("Annuler", VaadinIcon.CLOSE_CIRCLE.create());
             cancelButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_ERROR);
             cancelButton.addClickListener(e -> confirmCancelBooking(booking));
@@ -181,26 +202,48 @@ public class MyBookingsView extends VerticalLayout {
     }
 
     private void loadBookings() {
-        try {
-            List<Booking> bookings = bookingService.getPassengerBookings(SessionManager.getCurrentUserId());
-            grid.setItems(bookings);
-        } catch (Exception ex) {
-            NotificationHelper.showError("Erreur lors du chargement des réservations: " + ex.getMessage());
-        }
+        Long passengerId = SessionManager.getCurrentUserId();
+
+        // Lazy data provider: only the visible page of bookings is fetched, filtered in SQL
+        grid.setItems(query -> {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                Period period = periodFilter.getValue();
+                return bookingService.getPassengerBookingRows(
+                        passengerId,
+                        statusFilter.getSelectedItems(),
+                        period == Period.UPCOMING ? now : null,
+                        period == Period.PAST ? now : null,
+                        VaadinSpringDataHelpers.toSpringPageRequest(query)).stream();
+            } catch (Exception ex) {
+                NotificationHelper.showError("Erreur lors du chargement des réservations: " + ex.getMessage());
+                return Stream.empty();
+            }
+        });
+    }
+
+    private static String statusLabel(BookingStatus status) {
+        return switch (status) {
+            case PENDING -> "En attente";
+            case CONFIRMED -> "Confirmée";
+            case CANCELLED_BY_DRIVER -> "Annulée (conducteur)";
+            case CANCELLED_BY_PASSENGER -> "Annulée";
+            default -> status.name();
+        };
     }
 
-    private void viewRide(Booking booking) {
-        getUI().ifPresent(ui -> ui.navigate("rides/" + booking.getRide().getId()));
+    private void viewRide(BookingRow booking) {
+        getUI().ifPresent(ui -> ui.navigate("rides/" + booking.rideId()));
     }
 
-    private void confirmCancelBooking(Booking booking) {
+    private void confirmCancelBooking(BookingRow booking) {
         ConfirmDialog dialog = new ConfirmDialog();
         dialog.setHeader("Annuler la réservation");
         dialog.setText(String.format(
                 "Êtes-vous sûr de vouloir annuler votre réservation pour le trajet %s → %s du %s ?",
-                booking.getRide().getDepartureCity(),
-                booking.getRide().getArrivalCity(),
-                booking.getRide().getDepartureDateTime().format(DATE_FORMATTER)
+                booking.departureCity(),
+                booking.arrivalCity(),
+                booking.departureDateTime().format(DATE_FORMATTER)
         ));
 
         dialog.setCancelable(true);
@@ -214,13 +257,29 @@ public class MyBookingsView extends VerticalLayout {
         dialog.open();
     }
 
-    private void cancelBooking(Booking booking) {
+    private void cancelBooking(BookingRow booking) {
         try {
-            bookingService.cancelBookingByPassenger(booking.getId(), SessionManager.getCurrentUser());
+            bookingService.cancelBookingByPassenger(booking.id(), SessionManager.getCurrentUser());
             NotificationHelper.showSuccess("Réservation annulée avec succès");
-            loadBookings();
+            grid.getDataProvider().refreshAll();
         } catch (Exception ex) {
             NotificationHelper.showError("Erreur lors de l'annulation: " + ex.getMessage());
         }
     }
+
+    private enum Period {
+        UPCOMING("À venir"),
+        PAST("Passées"),
+        ALL("Toutes");
+
+        private final String label;
+
+        Period(String label) {
+            this.label = label;
+        }
+
+        String getLabel() {
+            return label;
+        }
+    }
 }
@@ -1,7 +1,12 @@
 package com.unicovoit.views.layout;
 
-import com.unicovoit.entity.UserAccount;
+import com.unicovoit.dto.SessionUser;
+import com.unicovoit.service.MessageEventBus;
+import com.unicovoit.service.MessageService;
 import com.unicovoit.util.SessionManager;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.applayout.AppLayout;
 import com.vaadin.flow.component.applayout.DrawerToggle;
 import com.vaadin.flow.component.avatar.Avatar;
@@ -16,6 +21,7 @@ import com.vaadin.flow.component.orderedlayout.Scroller;
 import com.vaadin.flow.component.sidenav.SideNav;
 import com.vaadin.flow.component.sidenav.SideNavItem;
 import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.shared.communication.PushMode;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
 /**
@@ -24,9 +30,17 @@ import com.vaadin.flow.theme.lumo.LumoUtility;
 @PageTitle("UniCovoit")
 public class MainLayout extends AppLayout {
 
+    private final MessageService messageService;
+    private final MessageEventBus messageEventBus;
+
     private H2 viewTitle;
+    private final Span unreadBadge = new Span();
+    private Runnable unsubscribe;
+
+    public MainLayout(MessageService messageService, MessageEventBus messageEventBus) {
+        this.messageService = messageService;
+        this.messageEventBus = messageEventBus;
 
-    public MainLayout() {
         setPrimarySection(Section.DRAWER);
         addDrawerContent();
         addHeaderContent();
@@ -40,14 +54,14 @@ public class MainLayout extends AppLayout {
         viewTitle.addClassNames(LumoUtility.FontSize.LARGE, LumoUtility.Margin.NONE);
 
         // User info and logout button
-        UserAccount currentUser = SessionManager.getCurrentUser();
+        SessionUser currentUser = SessionManager.getCurrentUser();
         String userInitials = "";
         String userName = "";
 
         if (currentUser != null) {
-            userInitials = currentUser.getFirstName().substring(0, 1).toUpperCase() +
-                          currentUser.getLastName().substring(0, 1).toUpperCase();
-            userName = currentUser.getFirstName() + " " + currentUser.getLastName();
+            userInitials = currentUser.firstName().substring(0, 1).toUpperCase() +
+                          currentUser.lastName().substring(0, 1).toUpperCase();
+            userName = currentUser.fullName();
         }
 
         Avatar avatar = new Avatar(userName);
@@ -115,11 +129,20 @@ public class MainLayout extends AppLayout {
         nav.addItem(new SideNavItem("Mes réservations", "my-bookings", VaadinIcon.TICKET.create()));
         nav.addItem(new SideNavItem("Demandes de réservation", "booking-requests", VaadinIcon.CLIPBOARD_CHECK.create()));
         nav.addItem(new SideNavItem("Mes véhicules", "vehicles", VaadinIcon.AUTOMOBILE.create()));
-        nav.addItem(new SideNavItem("Messages", "messages", VaadinIcon.ENVELOPE.create()));
+        SideNavItem messagesItem = new SideNavItem("Messages", "messages", VaadinIcon.ENVELOPE.create());
+        unreadBadge.getElement().getThemeList().add("badge contrast pill");
+        unreadBadge.setVisible(false);
+        messagesItem.setSuffixComponent(unreadBadge);
+        nav.addItem(messagesItem);
 
         return nav;
     }
 
+    private void setUnreadCount(long unreadCount) {
+        unreadBadge.setText(String.valueOf(unreadCount));
+        unreadBadge.setVisible(unreadCount > 0);
+    }
+
     private Footer createFooter() {
         Footer footer = new Footer();
         footer.addClassNames(
@@ -135,6 +158,38 @@ public class MainLayout extends AppLayout {
         return footer;
     }
 
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+
+        Long currentUserId = SessionManager.getCurrentUserId();
+        if (currentUserId == null) {
+            return;
+        }
+
+        // Server push lets the bus update the badge without a client round trip
+        UI ui = attachEvent.getUI();
+        ui.getPushConfiguration().setPushMode(PushMode.AUTOMATIC);
+
+        setUnreadCount(messageService.getUnreadMessageCount(currentUserId));
+
+        unsubscribe = messageEventBus.subscribe(currentUserId, new MessageEventBus.MessageListener() {
+            @Override
+            public void onUnreadCountChanged(long unreadCount) {
+                ui.access(() -> setUnreadCount(unreadCount));
+            }
+        });
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        if (unsubscribe != null) {
+            unsubscribe.run();
+            unsubscribe = null;
+        }
+        super.onDetach(detachEvent);
+    }
+
     @Override
     protected void afterNavigation() {
         super.afterNavigation();
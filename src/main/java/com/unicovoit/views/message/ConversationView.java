@@ -3,12 +3,16 @@ package com.unicovoit.views.message;
 import com.unicovoit.dto.SendMessageDto;
 import com.unicovoit.entity.Message;
 import com.unicovoit.entity.UserAccount;
+import com.unicovoit.service.MessageEventBus;
 import com.unicovoit.service.MessageService;
 import com.unicovoit.service.UserService;
 import com.unicovoit.util.NotificationHelper;
 import com.unicovoit.util.SessionManager;
 import com.unicovoit.views.layout.MainLayout;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.Key;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.*;
@@ -28,19 +32,25 @@ public class ConversationView extends VerticalLayout implements BeforeEnterObser
 
     private final MessageService messageService;
     private final UserService userService;
+    private final MessageEventBus messageEventBus;
 
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final int PAGE_SIZE = 50;
 
     private Long partnerId;
     private UserAccount partner;
 
     private final VerticalLayout messagesContainer = new VerticalLayout();
+    private Message oldestLoadedMessage;
+    private boolean hasOlderMessages;
+    private Runnable unsubscribe;
     private final TextArea messageInput = new TextArea();
     private final Button sendButton = new Button("Envoyer");
 
-    public ConversationView(MessageService messageService, UserService userService) {
+    public ConversationView(MessageService messageService, UserService userService, MessageEventBus messageEventBus) {
         this.messageService = messageService;
         this.userService = userService;
+        this.messageEventBus = messageEventBus;
 
         if (!SessionManager.isLoggedIn()) {
             getUI().ifPresent(ui -> ui.navigate("login"));
@@ -102,6 +112,13 @@ public class ConversationView extends VerticalLayout implements BeforeEnterObser
         messagesContainer.setSpacing(true);
         messagesContainer.setWidthFull();
 
+        // Fetch the previous page when the user scrolls to the top
+        section.getElement().addEventListener("scroll", e -> loadOlderMessages(
+                        section, e.getEventData().getNumber("element.scrollHeight")))
+                .addEventData("element.scrollHeight")
+                .setFilter("element.scrollTop === 0")
+                .debounce(200);
+
         section.add(messagesContainer);
         return section;
     }
@@ -134,15 +151,19 @@ public class ConversationView extends VerticalLayout implements BeforeEnterObser
 
     private void loadConversation() {
         try {
-            List<Message> messages = messageService.getConversation(
+            List<Message> messages = messageService.getConversationPage(
                     SessionManager.getCurrentUserId(),
-                    partnerId
+                    partnerId,
+                    null,
+                    PAGE_SIZE
             );
 
             // Mark messages as read
             messageService.markConversationAsRead(partnerId, SessionManager.getCurrentUser());
 
             messagesContainer.removeAll();
+            oldestLoadedMessage = messages.isEmpty() ? null : messages.get(0);
+            hasOlderMessages = messages.size() == PAGE_SIZE;
 
             if (messages.isEmpty()) {
                 Div emptyState = new Div();
@@ -158,11 +179,7 @@ public class ConversationView extends VerticalLayout implements BeforeEnterObser
                     messagesContainer.add(createMessageBubble(message));
                 }
 
-                // Scroll to bottom
-                getElement().executeJs("setTimeout(() => { " +
-                    "const container = $0.querySelector('[style*=\"overflow-y\"]'); " +
-                    "if (container) container.scrollTop = container.scrollHeight; " +
-                    "}, 100);", getElement());
+                scrollToBottom();
             }
 
         } catch (Exception ex) {
@@ -170,6 +187,57 @@ public class ConversationView extends VerticalLayout implements BeforeEnterObser
         }
     }
 
+    private void loadOlderMessages(VerticalLayout section, double previousScrollHeight) {
+        if (!hasOlderMessages || oldestLoadedMessage == null) {
+            return;
+        }
+
+        try {
+            List<Message> messages = messageService.getConversationPage(
+                    SessionManager.getCurrentUserId(),
+                    partnerId,
+                    oldestLoadedMessage,
+                    PAGE_SIZE
+            );
+
+            hasOlderMessages = messages.size() == PAGE_SIZE;
+            if (messages.isEmpty()) {
+                return;
+            }
+
+            oldestLoadedMessage = messages.get(0);
+            for (int i = 0; i < messages.size(); i++) {
+                messagesContainer.addComponentAtIndex(i, createMessageBubble(messages.get(i)));
+            }
+
+            // Keep the message the user was reading in place: without this the list stays at scrollTop 0,
+            // no further scroll event reaches the filter and older pages are never loaded
+            section.getElement().executeJs("$0.scrollTop += $0.scrollHeight - $1;",
+                    section.getElement(), previousScrollHeight);
+
+        } catch (Exception ex) {
+            NotificationHelper.showError("Erreur lors du chargement des messages précédents: " + ex.getMessage());
+        }
+    }
+
+    private void appendMessage(Message message) {
+        if (oldestLoadedMessage == null) {
+            // Replace the empty state
+            messagesContainer.removeAll();
+            oldestLoadedMessage = message;
+        }
+
+        messagesContainer.add(createMessageBubble(message));
+        scrollToBottom();
+    }
+
+    private void scrollToBottom() {
+        getElement().executeJs("setTimeout(() => { " +
+            "const container = $0.querySelector('[style*=\"overflow-y\"]'); " +
+            "if (container) container.scrollTop = container.scrollHeight; " +
+            "}, 100);", getElement());
+    }
+
     private Div createMessageBubble(Message message) {
         boolean isSentByMe = message.getSender().getId().equals(SessionManager.getCurrentUserId());
 
@@ -226,10 +294,10 @@ public class ConversationView extends VerticalLayout implements BeforeEnterObser
             dto.setReceiverId(partnerId);
             dto.setContent(content.trim());
 
-            messageService.sendMessage(dto, SessionManager.getCurrentUser());
+            Message sent = messageService.sendMessage(dto, SessionManager.getCurrentUser());
 
             messageInput.clear();
-            loadConversation();
+            appendMessage(sent);
 
             sendButton.setEnabled(true);
             sendButton.setText("Envoyer");
@@ -241,6 +309,41 @@ public class ConversationView extends VerticalLayout implements BeforeEnterObser
         }
     }
 
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+
+        Long currentUserId = SessionManager.getCurrentUserId();
+        if (currentUserId == null) {
+            return;
+        }
+
+        UI ui = attachEvent.getUI();
+        unsubscribe = messageEventBus.subscribe(currentUserId, new MessageEventBus.MessageListener() {
+            @Override
+            public void onMessage(Message message) {
+                // Only messages from the open conversation's partner; our own sends are appended by sendMessage
+                if (!message.getSender().getId().equals(partnerId)) {
+                    return;
+                }
+
+                ui.access(() -> {
+                    appendMessage(message);
+                    messageService.markAsRead(message.getId(), SessionManager.getCurrentUser());
+                });
+            }
+        });
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        if (unsubscribe != null) {
+            unsubscribe.run();
+            unsubscribe = null;
+        }
+        super.onDetach(detachEvent);
+    }
+
     @Override
     public void beforeEnter(BeforeEnterEvent event) {
         if (!SessionManager.isLoggedIn()) {
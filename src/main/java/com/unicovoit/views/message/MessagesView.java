@@ -1,10 +1,12 @@
 package com.unicovoit.views.message;
 
-import com.unicovoit.entity.Message;
+import com.unicovoit.dto.ConversationSummaryDto;
 import com.unicovoit.service.MessageService;
 import com.unicovoit.util.NotificationHelper;
 import com.unicovoit.util.SessionManager;
 import com.unicovoit.views.layout.MainLayout;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
@@ -13,10 +15,10 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.format.DateTimeFormatter;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
 
 @Route(value = "messages", layout = MainLayout.class)
 @PageTitle("Messages | UniCovoit")
@@ -25,7 +27,11 @@ public class MessagesView extends VerticalLayout {
     private final MessageService messageService;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
+    private static final int PAGE_SIZE = 20;
+
     private final VerticalLayout conversationsList = new VerticalLayout();
+    private final Button loadMoreButton = new Button("Charger plus de conversations");
+    private int loadedPages = 0;
 
     public MessagesView(MessageService messageService) {
         this.messageService = messageService;
@@ -67,56 +73,42 @@ public class MessagesView extends VerticalLayout {
         conversationsList.setPadding(false);
         conversationsList.setSpacing(false);
 
+        loadMoreButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        loadMoreButton.addClickListener(e -> loadMoreConversations());
+
         card.add(conversationsList);
         return card;
     }
 
     private void loadConversations() {
-        try {
-            Long currentUserId = SessionManager.getCurrentUserId();
+        conversationsList.removeAll();
+        loadedPages = 0;
+        loadMoreConversations();
+    }
 
-            // Get all sent and received messages
-            List<Message> sentMessages = messageService.getSentMessages(currentUserId);
-            List<Message> receivedMessages = messageService.getReceivedMessages(currentUserId);
+    private void loadMoreConversations() {
+        try {
+            List<ConversationSummaryDto> summaries = messageService.getConversationSummaries(
+                    SessionManager.getCurrentUserId(),
+                    PageRequest.of(loadedPages, PAGE_SIZE)
+            );
 
-            // Combine and group by conversation partner
-            Map<Long, List<Message>> conversations = new HashMap<>();
+            conversationsList.remove(loadMoreButton);
 
-            for (Message msg : sentMessages) {
-                Long partnerId = msg.getReceiver().getId();
-                conversations.computeIfAbsent(partnerId, k -> new ArrayList<>()).add(msg);
+            if (summaries.isEmpty() && loadedPages == 0) {
+                conversationsList.add(createEmptyState());
+                return;
             }
 
-            for (Message msg : receivedMessages) {
-                Long partnerId = msg.getSender().getId();
-                conversations.computeIfAbsent(partnerId, k -> new ArrayList<>()).add(msg);
+            for (ConversationSummaryDto summary : summaries) {
+                conversationsList.add(createConversationCard(summary));
             }
 
-            // Sort conversations by most recent message
-            List<Map.Entry<Long, List<Message>>> sortedConversations = conversations.entrySet().stream()
-                    .sorted((e1, e2) -> {
-                        Message latest1 = e1.getValue().stream()
-                                .max(Comparator.comparing(Message::getSentAt))
-                                .orElse(null);
-                        Message latest2 = e2.getValue().stream()
-                                .max(Comparator.comparing(Message::getSentAt))
-                                .orElse(null);
-
-                        if (latest1 == null || latest2 == null) return 0;
-                        return latest2.getSentAt().compareTo(latest1.getSentAt());
-                    })
-                    .collect(Collectors.toList());
+            loadedPages++;
 
-            conversationsList.removeAll();
-
-            if (sortedConversations.isEmpty()) {
-                conversationsList.add(createEmptyState());
-            } else {
-                for (Map.Entry<Long, List<Message>> entry : sortedConversations) {
-                    Long partnerId = entry.getKey();
-                    List<Message> messages = entry.getValue();
-                    conversationsList.add(createConversationCard(partnerId, messages));
-                }
+            // A full page means there may be older conversations
+            if (summaries.size() == PAGE_SIZE) {
+                conversationsList.add(loadMoreButton);
             }
 
         } catch (Exception ex) {
@@ -140,7 +132,7 @@ public class MessagesView extends VerticalLayout {
         return emptyState;
     }
 
-    private Div createConversationCard(Long partnerId, List<Message> messages) {
+    private Div createConversationCard(ConversationSummaryDto summary) {
         Div card = new Div();
         card.addClassNames(LumoUtility.Padding.MEDIUM, LumoUtility.BorderRadius.MEDIUM);
         card.getStyle()
@@ -155,30 +147,12 @@ public class MessagesView extends VerticalLayout {
             card.getStyle().remove("background-color")
         );
 
-        card.addClickListener(e -> openConversation(partnerId));
-
-        // Get the latest message
-        Message latestMessage = messages.stream()
-                .max(Comparator.comparing(Message::getSentAt))
-                .orElse(null);
-
-        if (latestMessage == null) return card;
-
-        // Determine partner name
-        String partnerName;
-        if (latestMessage.getSender().getId().equals(SessionManager.getCurrentUserId())) {
-            partnerName = latestMessage.getReceiver().getFirstName() + " " +
-                         latestMessage.getReceiver().getLastName();
-        } else {
-            partnerName = latestMessage.getSender().getFirstName() + " " +
-                         latestMessage.getSender().getLastName();
-        }
+        card.addClickListener(e -> openConversation(summary.getPartnerId()));
 
-        // Count unread messages from this partner
-        long unreadCount = messages.stream()
-                .filter(m -> m.getReceiver().getId().equals(SessionManager.getCurrentUserId()))
-                .filter(m -> !m.isRead())
-                .count();
+        boolean sentByMe = summary.getLastSenderId().equals(SessionManager.getCurrentUserId());
+        String partnerName = summary.getPartnerFirstName() + " " + summary.getPartnerLastName();
+        String lastContent = summary.getLastContent();
+        long unreadCount = summary.getUnreadCount();
 
         HorizontalLayout layout = new HorizontalLayout();
         layout.setWidthFull();
@@ -202,17 +176,17 @@ public class MessagesView extends VerticalLayout {
         H4 name = new H4(partnerName);
         name.addClassName(LumoUtility.Margin.NONE);
 
-        Span time = new Span(latestMessage.getSentAt().format(DATE_FORMATTER));
+        Span time = new Span(summary.getLastSentAt().format(DATE_FORMATTER));
         time.addClassName(LumoUtility.TextColor.SECONDARY);
         time.getStyle().set("font-size", "0.875rem");
 
         nameRow.add(name, time);
 
         Paragraph preview = new Paragraph(
-            (latestMessage.getSender().getId().equals(SessionManager.getCurrentUserId()) ? "Vous: " : "") +
-            (latestMessage.getContent().length() > 50 ?
-                latestMessage.getContent().substring(0, 50) + "..." :
-                latestMessage.getContent())
+            (sentByMe ? "Vous: " : "") +
+            (lastContent.length() > 50 ?
+                lastContent.substring(0, 50) + "..." :
+                lastContent)
         );
         preview.addClassName(LumoUtility.TextColor.SECONDARY);
         preview.getStyle().set("font-size", "0.875rem");
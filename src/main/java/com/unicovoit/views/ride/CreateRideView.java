@@ -27,6 +27,7 @@ import com.vaadin.flow.theme.lumo.LumoUtility;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 @Route(value = "create-ride", layout = MainLayout.class)
@@ -41,6 +42,7 @@ public class CreateRideView extends VerticalLayout {
     private final TextField departureAddressField = new TextField("Adresse de départ (optionnel)");
     private final TextField arrivalCityField = new TextField("Ville d'arrivée");
     private final TextField arrivalAddressField = new TextField("Adresse d'arrivée (optionnel)");
+    private final TextField waypointsField = new TextField("Villes étapes (optionnel)");
     private final DateTimePicker departureDateTimeField = new DateTimePicker("Date et heure de départ");
     private final IntegerField durationField = new IntegerField("Durée estimée (minutes)");
     private final NumberField priceField = new NumberField("Prix par place (€)");
@@ -119,6 +121,11 @@ public class CreateRideView extends VerticalLayout {
         arrivalAddressField.setPlaceholder("Ex: Gare Part-Dieu");
         arrivalAddressField.setPrefixComponent(VaadinIcon.LOCATION_ARROW.create());
 
+        // Waypoints
+        waypointsField.setPlaceholder("Ex: Auxerre, Mâcon");
+        waypointsField.setPrefixComponent(VaadinIcon.ROAD.create());
+        waypointsField.setHelperText("Villes traversées, dans l'ordre, séparées par des virgules");
+
         // Date time picker
         departureDateTimeField.setMin(LocalDateTime.now());
         departureDateTimeField.setRequiredIndicatorVisible(true);
@@ -163,6 +170,7 @@ public class CreateRideView extends VerticalLayout {
         form.add(vehicleSelect, 2);
         form.add(departureCityField, departureAddressField);
         form.add(arrivalCityField, arrivalAddressField);
+        form.add(waypointsField, 2);
         form.add(departureDateTimeField, durationField);
         form.add(priceField, seatsField);
         form.add(descriptionField, 2);
@@ -223,6 +231,7 @@ public class CreateRideView extends VerticalLayout {
             dto.setDepartureAddress(departureAddressField.getValue());
             dto.setArrivalCity(arrivalCityField.getValue().trim());
             dto.setArrivalAddress(arrivalAddressField.getValue());
+            dto.setWaypoints(parseWaypoints());
             dto.setDepartureDateTime(departureDateTimeField.getValue());
             dto.setDurationMinutes(durationField.getValue());
             dto.setPricePerSeat(BigDecimal.valueOf(priceField.getValue()));
@@ -244,6 +253,13 @@ public class CreateRideView extends VerticalLayout {
         }
     }
 
+    private List<String> parseWaypoints() {
+        return Arrays.stream(waypointsField.getValue().split(","))
+                .map(String::trim)
+                .filter(city -> !city.isEmpty())
+                .toList();
+    }
+
     private boolean validateForm() {
         boolean valid = true;
 
@@ -1,6 +1,6 @@
 package com.unicovoit.views.ride;
 
-import com.unicovoit.entity.Ride;
+import com.unicovoit.dto.RideRow;
 import com.unicovoit.entity.RideStatus;
 import com.unicovoit.service.RideService;
 import com.unicovoit.util.NotificationHelper;
@@ -17,17 +17,18 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.stream.Stream;
 
 @Route(value = "my-rides", layout = MainLayout.class)
 @PageTitle("Mes trajets | UniCovoit")
 public class MyRidesView extends VerticalLayout {
 
     private final RideService rideService;
-    private final Grid<Ride> grid = new Grid<>(Ride.class, false);
+    private final Grid<RideRow> grid = new Grid<>(RideRow.class, false);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
     public MyRidesView(RideService rideService) {
@@ -82,22 +83,22 @@ public class MyRidesView extends VerticalLayout {
         grid.addClassName("rides-grid");
         grid.setSizeFull();
 
-        grid.addColumn(ride -> ride.getDepartureCity() + " → " + ride.getArrivalCity())
+        grid.addColumn(ride -> ride.departureCity() + " → " + ride.arrivalCity())
                 .setHeader("Trajet")
-                .setSortable(true)
+                .setSortProperty("departureCity", "arrivalCity")
                 .setFlexGrow(2);
 
-        grid.addColumn(ride -> ride.getDepartureDateTime().format(DATE_FORMATTER))
+        grid.addColumn(ride -> ride.departureDateTime().format(DATE_FORMATTER))
                 .setHeader("Date de départ")
-                .setSortable(true)
+                .setSortProperty("departureDateTime")
                 .setFlexGrow(1);
 
-        grid.addColumn(ride -> ride.getPricePerSeat() + " €")
+        grid.addColumn(ride -> ride.pricePerSeat() + " €")
                 .setHeader("Prix")
                 .setFlexGrow(0)
                 .setWidth("100px");
 
-        grid.addColumn(ride -> ride.getSeatsAvailable() + "/" + ride.getSeatsTotal())
+        grid.addColumn(ride -> ride.seatsAvailable() + "/" + ride.seatsTotal())
                 .setHeader("Places")
                 .setFlexGrow(0)
                 .setWidth("100px");
@@ -115,7 +116,7 @@ public class MyRidesView extends VerticalLayout {
         grid.setEmptyStateText("Aucun trajet créé");
     }
 
-    private Span createStatusBadge(Ride ride) {
+    private Span createStatusBadge(RideRow ride) {
         Span badge = new Span();
         badge.getElement().getThemeList().add("badge");
         badge.getStyle()
@@ -124,7 +125,7 @@ public class MyRidesView extends VerticalLayout {
                 .set("font-size", "0.875rem")
                 .set("font-weight", "500");
 
-        switch (ride.getStatus()) {
+        switch (ride.status()) {
             case PUBLISHED:
                 badge.setText("Publié");
                 badge.getStyle()
@@ -148,7 +149,7 @@ public class MyRidesView extends VerticalLayout {
         return badge;
     }
 
-    private HorizontalLayout createActionButtons(Ride ride) {
+    private HorizontalLayout createActionButtons(RideRow ride) {
         HorizontalLayout actions = new HorizontalLayout();
         actions.setSpacing(true);
 
@@ -156,7 +157,7 @@ public class MyRidesView extends VerticalLayout {
         viewButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
         viewButton.addClickListener(e -> viewRide(ride));
 
-        if (ride.getStatus() == RideStatus.PUBLISHED) {
+        if (ride.status() == RideStatus.PUBLISHED) {
             Button cancelButton = new Button("Annuler", VaadinIcon.CLOSE_CIRCLE.create());
             cancelButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_ERROR);
             cancelButton.addClickListener(e -> confirmCancelRide(ride));
@@ -169,27 +170,32 @@ public class MyRidesView extends VerticalLayout {
     }
 
     private void loadRides() {
-        try {
-            List<Ride> rides = rideService.getRidesByDriver(SessionManager.getCurrentUserId());
-            grid.setItems(rides);
-        } catch (Exception ex) {
-            NotificationHelper.showError("Erreur lors du chargement des trajets: " + ex.getMessage());
-        }
+        Long driverId = SessionManager.getCurrentUserId();
+
+        // Lazy data provider: only the visible page of rides is fetched
+        grid.setItems(query -> {
+            try {
+                return rideService.getRideRowsByDriver(driverId, VaadinSpringDataHelpers.toSpringPageRequest(query)).stream();
+            } catch (Exception ex) {
+                NotificationHelper.showError("Erreur lors du chargement des trajets: " + ex.getMessage());
+                return Stream.empty();
+            }
+        });
     }
 
-    private void viewRide(Ride ride) {
-        getUI().ifPresent(ui -> ui.navigate("rides/" + ride.getId()));
+    private void viewRide(RideRow ride) {
+        getUI().ifPresent(ui -> ui.navigate("rides/" + ride.id()));
     }
 
-    private void confirmCancelRide(Ride ride) {
+    private void confirmCancelRide(RideRow ride) {
         ConfirmDialog dialog = new ConfirmDialog();
         dialog.setHeader("Annuler le trajet");
         dialog.setText(String.format(
                 "Êtes-vous sûr de vouloir annuler le trajet %s → %s du %s ? " +
                 "Les passagers ayant réservé seront notifiés.",
-                ride.getDepartureCity(),
-                ride.getArrivalCity(),
-                ride.getDepartureDateTime().format(DATE_FORMATTER)
+                ride.departureCity(),
+                ride.arrivalCity(),
+                ride.departureDateTime().format(DATE_FORMATTER)
         ));
 
         dialog.setCancelable(true);
@@ -203,11 +209,11 @@ public class MyRidesView extends VerticalLayout {
         dialog.open();
     }
 
-    private void cancelRide(Ride ride) {
+    private void cancelRide(RideRow ride) {
         try {
-            rideService.cancelRide(ride.getId(), SessionManager.getCurrentUser());
+            rideService.cancelRide(ride.id(), SessionManager.getCurrentUser());
             NotificationHelper.showSuccess("Trajet annulé avec succès");
-            loadRides();
+            grid.getDataProvider().refreshAll();
         } catch (Exception ex) {
             NotificationHelper.showError("Erreur lors de l'annulation: " + ex.getMessage());
         }
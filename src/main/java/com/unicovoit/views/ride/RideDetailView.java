@@ -86,6 +86,10 @@ public class RideDetailView extends VerticalLayout implements BeforeEnterObserve
         H2 routeTitle = new H2(ride.getDepartureCity() + " → " + ride.getArrivalCity());
         routeTitle.addClassName(LumoUtility.Margin.Top.SMALL);
 
+        Span waypoints = new Span("via " + String.join(", ", ride.getWaypointCities()));
+        waypoints.addClassName(LumoUtility.TextColor.SECONDARY);
+        waypoints.setVisible(!ride.getWaypoints().isEmpty());
+
         // Date and status
         HorizontalLayout dateStatus = new HorizontalLayout();
         Span date = new Span(ride.getDepartureDateTime().format(DATE_FORMATTER));
@@ -118,7 +122,7 @@ public class RideDetailView extends VerticalLayout implements BeforeEnterObserve
         // Action buttons
         HorizontalLayout actions = createActionButtons();
 
-        card.add(header, routeTitle, dateStatus, new Hr(), driverSection, new Hr(),
+        card.add(header, routeTitle, waypoints, dateStatus, new Hr(), driverSection, new Hr(),
                 detailsSection, vehicleSection, preferencesSection, new Hr(), actions);
 
         contentContainer.add(card);
@@ -1,7 +1,8 @@
 package com.unicovoit.views.ride;
 
+import com.unicovoit.dto.NearbyRide;
 import com.unicovoit.dto.RideSearchRequestDto;
-import com.unicovoit.entity.Ride;
+import com.unicovoit.dto.RideSummary;
 import com.unicovoit.service.RideService;
 import com.unicovoit.util.NotificationHelper;
 import com.unicovoit.util.SessionManager;
@@ -13,15 +14,22 @@ import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.select.Select;
+import com.vaadin.flow.component.textfield.IntegerField;
+import com.vaadin.flow.component.textfield.NumberField;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.component.timepicker.TimePicker;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Route(value = "search", layout = MainLayout.class)
 @PageTitle("Rechercher un trajet | UniCovoit")
@@ -33,10 +41,20 @@ public class SearchView extends VerticalLayout {
     private final TextField departureCityField = new TextField();
     private final TextField arrivalCityField = new TextField();
     private final DatePicker datePicker = new DatePicker();
+    private final IntegerField radiusField = new IntegerField();
+    private final Select<Integer> flexibilitySelect = new Select<>();
+    private final TimePicker timeFromPicker = new TimePicker();
+    private final TimePicker timeToPicker = new TimePicker();
+    private final Select<Boolean> musicSelect = createPreferenceSelect("Musique");
+    private final Select<Boolean> petsSelect = createPreferenceSelect("Animaux");
+    private final Select<Boolean> smokingSelect = createPreferenceSelect("Fumeur");
+    private final NumberField maxPriceField = new NumberField();
+    private final IntegerField minSeatsField = new IntegerField();
     private final Button searchButton = new Button("Rechercher");
 
     private final VerticalLayout resultsContainer = new VerticalLayout();
-    private List<Ride> searchResults = new ArrayList<>();
+    private List<RideSummary> searchResults = new ArrayList<>();
+    private Map<Long, Double> distancesKm = Map.of();
 
     public SearchView(RideService rideService) {
         this.rideService = rideService;
@@ -65,8 +83,9 @@ public class SearchView extends VerticalLayout {
         subtitle.addClassName(LumoUtility.TextColor.SECONDARY);
 
         HorizontalLayout searchForm = createSearchForm();
+        HorizontalLayout filters = createFilters();
 
-        card.add(title, subtitle, searchForm);
+        card.add(title, subtitle, searchForm, filters);
         return card;
     }
 
@@ -74,7 +93,7 @@ public class SearchView extends VerticalLayout {
         HorizontalLayout form = new HorizontalLayout();
         form.setWidthFull();
         form.setAlignItems(Alignment.END);
-        form.addClassName(LumoUtility.Gap.MEDIUM);
+        form.addClassNames(LumoUtility.Gap.MEDIUM, LumoUtility.FlexWrap.WRAP);
 
         departureCityField.setLabel("Ville de départ");
         departureCityField.setPlaceholder("Ex: Paris");
@@ -94,14 +113,72 @@ public class SearchView extends VerticalLayout {
         datePicker.setRequiredIndicatorVisible(true);
         datePicker.setWidth("200px");
 
+        flexibilitySelect.setLabel("Flexibilité");
+        flexibilitySelect.setItems(0, 1, 2, 3);
+        flexibilitySelect.setItemLabelGenerator(days -> days == 0 ? "Date exacte" : "± " + days + " jour(s)");
+        flexibilitySelect.setValue(0);
+        flexibilitySelect.setWidth("150px");
+
+        timeFromPicker.setLabel("Partir après");
+        timeFromPicker.setClearButtonVisible(true);
+        timeFromPicker.setWidth("130px");
+
+        timeToPicker.setLabel("Partir avant");
+        timeToPicker.setClearButtonVisible(true);
+        timeToPicker.setWidth("130px");
+
+        radiusField.setLabel("Autour (km)");
+        radiusField.setPlaceholder("Ville exacte");
+        radiusField.setMin(1);
+        radiusField.setMax(100);
+        radiusField.setStepButtonsVisible(true);
+        radiusField.setWidth("150px");
+
         searchButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY, ButtonVariant.LUMO_LARGE);
         searchButton.setIcon(VaadinIcon.SEARCH.create());
         searchButton.addClickListener(e -> performSearch());
 
-        form.add(departureCityField, arrivalCityField, datePicker, searchButton);
+        form.add(departureCityField, radiusField, arrivalCityField, datePicker, flexibilitySelect,
+                timeFromPicker, timeToPicker, searchButton);
         return form;
     }
 
+    private HorizontalLayout createFilters() {
+        HorizontalLayout filters = new HorizontalLayout();
+        filters.setWidthFull();
+        filters.setAlignItems(Alignment.END);
+        filters.addClassNames(LumoUtility.Gap.MEDIUM, LumoUtility.FlexWrap.WRAP);
+
+        maxPriceField.setLabel("Prix max (€)");
+        maxPriceField.setMin(0);
+        maxPriceField.setStep(0.50);
+        maxPriceField.setClearButtonVisible(true);
+        maxPriceField.setWidth("130px");
+
+        minSeatsField.setLabel("Places min.");
+        minSeatsField.setMin(1);
+        minSeatsField.setMax(8);
+        minSeatsField.setStepButtonsVisible(true);
+        minSeatsField.setWidth("130px");
+
+        filters.add(musicSelect, petsSelect, smokingSelect, maxPriceField, minSeatsField);
+        return filters;
+    }
+
+    /**
+     * Yes / no / either select for a ride preference (empty selection means either)
+     */
+    private static Select<Boolean> createPreferenceSelect(String label) {
+        Select<Boolean> select = new Select<>();
+        select.setLabel(label);
+        select.setItems(true, false);
+        select.setItemLabelGenerator(value -> value ? "Oui" : "Non");
+        select.setEmptySelectionAllowed(true);
+        select.setEmptySelectionCaption("Indifférent");
+        select.setWidth("130px");
+        return select;
+    }
+
     private void performSearch() {
         if (!validateSearch()) {
             return;
@@ -115,8 +192,24 @@ public class SearchView extends VerticalLayout {
             dto.setDepartureCity(departureCityField.getValue().trim());
             dto.setArrivalCity(arrivalCityField.getValue().trim());
             dto.setDate(datePicker.getValue());
-
-            searchResults = rideService.searchRides(dto);
+            dto.setRadiusKm(radiusField.getValue());
+            dto.setFlexibleDays(flexibilitySelect.getValue());
+            dto.setDepartureTimeFrom(timeFromPicker.getValue());
+            dto.setDepartureTimeTo(timeToPicker.getValue());
+            dto.setMusicEnabled(musicSelect.getValue());
+            dto.setPetsAllowed(petsSelect.getValue());
+            dto.setSmokingAllowed(smokingSelect.getValue());
+            dto.setMaxPricePerSeat(maxPriceField.getValue() != null ? BigDecimal.valueOf(maxPriceField.getValue()) : null);
+            dto.setMinSeats(minSeatsField.getValue());
+
+            if (dto.getRadiusKm() == null) {
+                searchResults = rideService.searchRides(dto);
+                distancesKm = Map.of();
+            } else {
+                List<NearbyRide> nearby = rideService.searchRidesNear(dto);
+                searchResults = nearby.stream().map(NearbyRide::ride).toList();
+                distancesKm = nearby.stream().collect(Collectors.toMap(n -> n.ride().id(), NearbyRide::distanceKm));
+            }
             displayResults();
 
             searchButton.setEnabled(true);
@@ -184,7 +277,7 @@ public class SearchView extends VerticalLayout {
         return emptyState;
     }
 
-    private Div createRideCard(Ride ride) {
+    private Div createRideCard(RideSummary ride) {
         Div card = new Div();
         card.addClassNames(LumoUtility.Background.BASE, LumoUtility.BoxShadow.SMALL, LumoUtility.BorderRadius.MEDIUM);
         card.getStyle()
@@ -211,24 +304,38 @@ public class SearchView extends VerticalLayout {
         routeInfo.setSpacing(false);
         routeInfo.setPadding(false);
 
-        H4 route = new H4(ride.getDepartureCity() + " → " + ride.getArrivalCity());
+        H4 route = new H4(ride.departureCity() + " → " + ride.arrivalCity());
         route.addClassName(LumoUtility.Margin.NONE);
 
-        Span dateTime = new Span(ride.getDepartureDateTime().format(DATE_FORMATTER));
+        Span dateTime = new Span(ride.departureDateTime().format(DATE_FORMATTER));
         dateTime.addClassName(LumoUtility.TextColor.SECONDARY);
 
-        routeInfo.add(route, dateTime);
+        routeInfo.add(route);
+        if (!ride.waypoints().isEmpty()) {
+            Span waypoints = new Span("via " + String.join(", ", ride.waypoints()));
+            waypoints.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.FontSize.SMALL);
+            routeInfo.add(waypoints);
+        }
+        routeInfo.add(dateTime);
+        Double distanceKm = distancesKm.get(ride.id());
+        if (distanceKm != null) {
+            Span distance = new Span(String.format("Départ à %.0f km", distanceKm));
+            distance.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.FontSize.SMALL);
+            routeInfo.add(distance);
+        }
 
         // Middle section - Driver info
         VerticalLayout driverInfo = new VerticalLayout();
         driverInfo.setSpacing(false);
         driverInfo.setPadding(false);
 
-        Span driverName = new Span("Conducteur: " + ride.getDriver().getFirstName() + " " + ride.getDriver().getLastName());
-        Span vehicle = new Span(ride.getVehicle().getBrand() + " " + ride.getVehicle().getModel());
-        vehicle.addClassName(LumoUtility.TextColor.SECONDARY);
-
-        driverInfo.add(driverName, vehicle);
+        Span driverName = new Span("Conducteur: " + ride.driverName());
+        driverInfo.add(driverName);
+        if (ride.vehicleName() != null) {
+            Span vehicle = new Span(ride.vehicleName());
+            vehicle.addClassName(LumoUtility.TextColor.SECONDARY);
+            driverInfo.add(vehicle);
+        }
 
         // Right section - Price and seats
         VerticalLayout priceInfo = new VerticalLayout();
@@ -236,10 +343,10 @@ public class SearchView extends VerticalLayout {
         priceInfo.setPadding(false);
         priceInfo.setAlignItems(Alignment.END);
 
-        H3 price = new H3(ride.getPricePerSeat() + " €");
+        H3 price = new H3(ride.pricePerSeat() + " €");
         price.addClassNames(LumoUtility.TextColor.PRIMARY, LumoUtility.Margin.NONE);
 
-        Span seats = new Span(ride.getSeatsAvailable() + " place(s) disponible(s)");
+        Span seats = new Span(ride.seatsAvailable() + " place(s) disponible(s)");
         seats.addClassName(LumoUtility.TextColor.SECONDARY);
 
         priceInfo.add(price, seats);
@@ -251,7 +358,7 @@ public class SearchView extends VerticalLayout {
         return card;
     }
 
-    private void viewRideDetails(Ride ride) {
-        getUI().ifPresent(ui -> ui.navigate("rides/" + ride.getId()));
+    private void viewRideDetails(RideSummary ride) {
+        getUI().ifPresent(ui -> ui.navigate("rides/" + ride.id()));
     }
 }
@@ -1,6 +1,6 @@
 package com.unicovoit.views.vehicle;
 
-import com.unicovoit.entity.Vehicle;
+import com.unicovoit.dto.VehicleRow;
 import com.unicovoit.service.VehicleService;
 import com.unicovoit.util.NotificationHelper;
 import com.unicovoit.util.SessionManager;
@@ -24,7 +24,7 @@ import java.util.List;
 public class VehicleListView extends VerticalLayout {
 
     private final VehicleService vehicleService;
-    private final Grid<Vehicle> grid = new Grid<>(Vehicle.class, false);
+    private final Grid<VehicleRow> grid = new Grid<>(VehicleRow.class, false);
 
     public VehicleListView(VehicleService vehicleService) {
         this.vehicleService = vehicleService;
@@ -78,25 +78,25 @@ public class VehicleListView extends VerticalLayout {
         grid.addClassName("vehicle-grid");
         grid.setSizeFull();
 
-        grid.addColumn(Vehicle::getBrand)
+        grid.addColumn(VehicleRow::brand)
                 .setHeader("Marque")
                 .setSortable(true)
                 .setFlexGrow(1);
 
-        grid.addColumn(Vehicle::getModel)
+        grid.addColumn(VehicleRow::model)
                 .setHeader("Modèle")
                 .setSortable(true)
                 .setFlexGrow(1);
 
-        grid.addColumn(Vehicle::getColor)
+        grid.addColumn(VehicleRow::color)
                 .setHeader("Couleur")
                 .setFlexGrow(1);
 
-        grid.addColumn(Vehicle::getPlateNumber)
+        grid.addColumn(VehicleRow::plateNumber)
                 .setHeader("Immatriculation")
                 .setFlexGrow(1);
 
-        grid.addColumn(Vehicle::getSeatsTotal)
+        grid.addColumn(VehicleRow::seatsTotal)
                 .setHeader("Places")
                 .setFlexGrow(0)
                 .setWidth("100px");
@@ -124,7 +124,7 @@ public class VehicleListView extends VerticalLayout {
     private void loadVehicles() {
         try {
             Long userId = SessionManager.getCurrentUserId();
-            List<Vehicle> vehicles = vehicleService.getUserVehicles(userId);
+            List<VehicleRow> vehicles = vehicleService.getUserVehicleRows(userId);
             grid.setItems(vehicles);
 
             if (vehicles.isEmpty()) {
@@ -139,16 +139,16 @@ public class VehicleListView extends VerticalLayout {
         // Grid already has empty state text
     }
 
-    private void editVehicle(Vehicle vehicle) {
-        getUI().ifPresent(ui -> ui.navigate("vehicles/edit/" + vehicle.getId()));
+    private void editVehicle(VehicleRow vehicle) {
+        getUI().ifPresent(ui -> ui.navigate("vehicles/edit/" + vehicle.id()));
     }
 
-    private void confirmDelete(Vehicle vehicle) {
+    private void confirmDelete(VehicleRow vehicle) {
         ConfirmDialog dialog = new ConfirmDialog();
         dialog.setHeader("Supprimer le véhicule");
         dialog.setText(String.format(
                 "Êtes-vous sûr de vouloir supprimer le véhicule %s %s ?",
-                vehicle.getBrand(), vehicle.getModel()
+                vehicle.brand(), vehicle.model()
         ));
 
         dialog.setCancelable(true);
@@ -162,9 +162,9 @@ public class VehicleListView extends VerticalLayout {
         dialog.open();
     }
 
-    private void deleteVehicle(Vehicle vehicle) {
+    private void deleteVehicle(VehicleRow vehicle) {
         try {
-            vehicleService.deleteVehicle(vehicle.getId(), SessionManager.getCurrentUser());
+            vehicleService.deleteVehicle(vehicle.id(), SessionManager.getCurrentUser());
             NotificationHelper.showSuccess("Véhicule supprimé avec succès");
             loadVehicles();
         } catch (Exception ex) {
@@ -0,0 +1,27 @@
+package com.unicovoit;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Headless Spring context for the service tests: services, DAOs and entities on the H2 database of
+ * application-test.properties. No Vaadin or servlet container is started.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("com.unicovoit.entity")
+@EnableJpaRepositories("com.unicovoit.dao")
+@ComponentScan("com.unicovoit.service")
+public class ServiceTestApplication {
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(4);
+    }
+}
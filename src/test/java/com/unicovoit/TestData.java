@@ -0,0 +1,126 @@
+package com.unicovoit;
+
+import com.unicovoit.dto.SessionUser;
+import com.unicovoit.entity.Role;
+import com.unicovoit.util.CityNormalizer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inserts test rows with plain JDBC (no entity, no persistence context), so statement counts only see the code
+ * under test. Every call creates new rows; tests never rely on a clean database.
+ */
+public class TestData {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpleJdbcInsert users;
+    private final SimpleJdbcInsert vehicles;
+    private final SimpleJdbcInsert rides;
+    private final SimpleJdbcInsert messages;
+    private final SimpleJdbcInsert bookings;
+
+    public TestData(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        users = new SimpleJdbcInsert(jdbcTemplate).withTableName("user_account").usingGeneratedKeyColumns("id");
+        vehicles = new SimpleJdbcInsert(jdbcTemplate).withTableName("vehicle").usingGeneratedKeyColumns("id");
+        rides = new SimpleJdbcInsert(jdbcTemplate).withTableName("ride").usingGeneratedKeyColumns("id");
+        messages = new SimpleJdbcInsert(jdbcTemplate).withTableName("message").usingGeneratedKeyColumns("id");
+        bookings = new SimpleJdbcInsert(jdbcTemplate).withTableName("booking").usingGeneratedKeyColumns("id");
+    }
+
+    public long user() {
+        int n = SEQUENCE.incrementAndGet();
+        return users.executeAndReturnKey(Map.of(
+                "first_name", "Prénom" + n,
+                "last_name", "Nom" + n,
+                "email", "student" + n + "@test.unicovoit.fr",
+                "university", "Université test",
+                "password_hash", "$2a$04$invalidinvalidinvalidinvalidinvalidinvalidinvalidinval",
+                "role", "STUDENT",
+                "created_at", LocalDateTime.now())).longValue();
+    }
+
+    public long vehicle(long ownerId, int seats) {
+        return vehicles.executeAndReturnKey(Map.of(
+                "owner_id", ownerId,
+                "brand", "Renault",
+                "model", "Clio",
+                "seats_total", seats,
+                "created_at", LocalDateTime.now())).longValue();
+    }
+
+    public long ride(long driverId, long vehicleId, String departure, String arrival, LocalDateTime departureDateTime,
+                     int seats) {
+        return rides.executeAndReturnKey(Map.ofEntries(
+                Map.entry("driver_id", driverId),
+                Map.entry("vehicle_id", vehicleId),
+                Map.entry("departure_city", departure),
+                Map.entry("departure_city_key", CityNormalizer.normalize(departure)),
+                Map.entry("arrival_city", arrival),
+                Map.entry("arrival_city_key", CityNormalizer.normalize(arrival)),
+                Map.entry("departure_datetime", departureDateTime),
+                Map.entry("duration_minutes", 120),
+                Map.entry("price_per_seat", BigDecimal.TEN),
+                Map.entry("seats_total", seats),
+                Map.entry("seats_available", seats),
+                Map.entry("music_enabled", false),
+                Map.entry("pets_allowed", false),
+                Map.entry("smoking_allowed", false),
+                Map.entry("preference_flags", 0),
+                Map.entry("status", "PUBLISHED"),
+                Map.entry("created_at", LocalDateTime.now()))).longValue();
+    }
+
+    public void waypoints(long rideId, String... cities) {
+        for (int i = 0; i < cities.length; i++) {
+            jdbcTemplate.update("INSERT INTO ride_waypoint (ride_id, position, city, city_key) VALUES (?, ?, ?, ?)",
+                    rideId, i, cities[i], CityNormalizer.normalize(cities[i]));
+        }
+    }
+
+    public long booking(long rideId, long passengerId, int seats) {
+        return bookings.executeAndReturnKey(Map.of(
+                "ride_id", rideId,
+                "passenger_id", passengerId,
+                "seats_booked", seats,
+                "status", "CONFIRMED",
+                "created_at", LocalDateTime.now())).longValue();
+    }
+
+    public long message(long senderId, long receiverId, LocalDateTime sentAt, boolean read) {
+        return messages.executeAndReturnKey(Map.of(
+                "sender_id", senderId,
+                "receiver_id", receiverId,
+                "content", "Bonjour",
+                "sent_at", sentAt,
+                "is_read", read)).longValue();
+    }
+
+    /**
+     * Insert count messages from a sender to a receiver in one batch, one second apart, ending now
+     */
+    public void messages(long senderId, long receiverId, int count, boolean read) {
+        LocalDateTime start = LocalDateTime.now().minusSeconds(count);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{senderId, receiverId, "Message " + i, Timestamp.valueOf(start.plusSeconds(i)), read});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO message (sender_id, receiver_id, content, sent_at, is_read) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    public static SessionUser sessionUser(long userId) {
+        return new SessionUser(userId, "Prénom", "Nom", "student" + userId + "@test.unicovoit.fr", Role.STUDENT,
+                "Université test");
+    }
+}
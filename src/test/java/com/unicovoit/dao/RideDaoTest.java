@@ -0,0 +1,84 @@
+package com.unicovoit.dao;
+
+import com.unicovoit.ServiceTestApplication;
+import com.unicovoit.TestData;
+import com.unicovoit.dto.RideCandidate;
+import com.unicovoit.entity.Ride;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The SQL search fallback must find a ride between any two of its stops in route order, as RideSearchIndex does
+ */
+@SpringBootTest(classes = ServiceTestApplication.class)
+@ActiveProfiles("test")
+class RideDaoTest {
+
+    private static final List<Integer> ANY_FLAGS = List.of(0, 1, 2, 3, 4, 5, 6, 7);
+
+    @Autowired
+    private RideDao rideDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate day = LocalDate.now().plusDays(200);
+    private long rideId;
+
+    @BeforeEach
+    void setUp() {
+        TestData data = new TestData(jdbcTemplate);
+        long driverId = data.user();
+        rideId = data.ride(driverId, data.vehicle(driverId, 4), "Quimper", "Saint-Brieuc", day.atTime(9, 0), 3);
+        data.waypoints(rideId, "Lorient", "Vannes", "Rennes");
+    }
+
+    @Test
+    void findsRidesBetweenAnyTwoStopsInRouteOrder() {
+        assertThat(search("quimper", "saint brieuc")).containsExactly(rideId);
+        assertThat(search("quimper", "vann")).containsExactly(rideId);
+        assertThat(search("lorient", "rennes")).containsExactly(rideId);
+        assertThat(search("vannes", "saint")).containsExactly(rideId);
+
+        assertThat(search("rennes", "lorient")).isEmpty();
+        assertThat(search("saint brieuc", "quimper")).isEmpty();
+        assertThat(search("rennes", "rennes")).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void candidatesMatchTheSameRidesOnce() {
+        assertThat(candidates("lor", "vannes")).containsExactly(rideId);
+        assertThat(candidates("quimper", "saint brieuc")).containsExactly(rideId);
+        assertThat(candidates("vannes", "lorient")).isEmpty();
+    }
+
+    private List<Long> search(String departureCityKey, String arrivalCityKey) {
+        return rideDao.findRidesByCityKeys(departureCityKey, arrivalCityKey,
+                        day.atStartOfDay(), day.atTime(LocalTime.MAX), ANY_FLAGS, null, 1)
+                .stream()
+                .map(Ride::getId)
+                .toList();
+    }
+
+    private List<Long> candidates(String departureCityKey, String arrivalCityKey) {
+        LocalDateTime start = day.minusDays(1).atStartOfDay();
+        try (Stream<RideCandidate> candidates = rideDao.streamCandidatesByCityKeys(departureCityKey, arrivalCityKey,
+                start, day.plusDays(1).atTime(LocalTime.MAX), ANY_FLAGS, null, 1)) {
+            return candidates.map(RideCandidate::id).toList();
+        }
+    }
+}
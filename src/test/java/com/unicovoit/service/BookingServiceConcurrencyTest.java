@@ -0,0 +1,177 @@
+package com.unicovoit.service;
+
+import com.unicovoit.ServiceTestApplication;
+import com.unicovoit.TestData;
+import com.unicovoit.dao.RideDao;
+import com.unicovoit.dto.CreateBookingDto;
+import com.unicovoit.dto.SessionUser;
+import com.unicovoit.entity.Role;
+import com.unicovoit.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seat reservation under contention: RideDao.reserveSeats must never let concurrent bookings oversell a ride,
+ * and concurrent cancellations of one booking must give its seats back only once
+ */
+@SpringBootTest(classes = ServiceTestApplication.class)
+@ActiveProfiles("test")
+class BookingServiceConcurrencyTest {
+
+    private static final int BOOKERS = 64;
+    private static final int SEATS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RideDao rideDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TestData data;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(jdbcTemplate);
+    }
+
+    @Test
+    void concurrentBookersNeverOversellARide() throws Exception {
+        long driverId = data.user();
+        long rideId = data.ride(driverId, data.vehicle(driverId, SEATS), "Paris", "Lyon",
+                LocalDateTime.now().plusDays(3), SEATS);
+
+        List<SessionUser> passengers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            long passengerId = data.user();
+            passengers.add(new SessionUser(passengerId, "Prénom", "Nom", "p" + passengerId + "@test.unicovoit.fr",
+                    Role.STUDENT, "Université test"));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(BOOKERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (SessionUser passenger : passengers) {
+                results.add(pool.submit(() -> {
+                    CreateBookingDto dto = new CreateBookingDto();
+                    dto.setRideId(rideId);
+                    dto.setSeatsBooked(1);
+                    start.await();
+                    try {
+                        bookingService.createBooking(dto, passenger);
+                        return true;
+                    } catch (BusinessException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int booked = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) {
+                    booked++;
+                }
+            }
+
+            assertThat(booked).isEqualTo(SEATS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT seats_available FROM ride WHERE id = ?", Integer.class, rideId))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(seats_booked) FROM booking WHERE ride_id = ?",
+                Integer.class, rideId))
+                .isEqualTo(SEATS);
+    }
+
+    @Test
+    void concurrentCancellationsReleaseTheSeatsOnce() throws Exception {
+        long driverId = data.user();
+        long passengerId = data.user();
+        long rideId = data.ride(driverId, data.vehicle(driverId, SEATS), "Lille", "Paris",
+                LocalDateTime.now().plusDays(3), SEATS);
+        long bookingId = data.booking(rideId, passengerId, 2);
+        jdbcTemplate.update("UPDATE ride SET seats_available = 4 WHERE id = ?", rideId);
+
+        SessionUser driver = new SessionUser(driverId, "Prénom", "Nom", "d" + driverId + "@test.unicovoit.fr",
+                Role.STUDENT, "Université test");
+        SessionUser passenger = new SessionUser(passengerId, "Prénom", "Nom", "p" + passengerId + "@test.unicovoit.fr",
+                Role.STUDENT, "Université test");
+
+        int cancellers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(cancellers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < cancellers; i++) {
+                boolean byDriver = i % 2 == 0;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        if (byDriver) {
+                            bookingService.cancelBookingByDriver(bookingId, driver);
+                        } else {
+                            bookingService.cancelBookingByPassenger(bookingId, passenger);
+                        }
+                        return true;
+                    } catch (BusinessException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int cancelled = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) {
+                    cancelled++;
+                }
+            }
+
+            assertThat(cancelled).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT seats_available FROM ride WHERE id = ?", Integer.class, rideId))
+                .isEqualTo(6);
+    }
+
+    @Test
+    void releasedSeatsAreCappedAtSeatsTotal() {
+        long driverId = data.user();
+        long rideId = data.ride(driverId, data.vehicle(driverId, 4), "Lyon", "Grenoble",
+                LocalDateTime.now().plusDays(2), 4);
+        jdbcTemplate.update("UPDATE ride SET seats_available = 3 WHERE id = ?", rideId);
+
+        Integer updated = transactionTemplate.execute(status -> rideDao.releaseSeats(rideId, 2));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT seats_available FROM ride WHERE id = ?", Integer.class, rideId))
+                .isEqualTo(4);
+    }
+}
@@ -0,0 +1,40 @@
+package com.unicovoit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(List.of("10.0.0.0/8", " 192.168.1.5 ", ""));
+
+    @Test
+    void headerIsIgnoredUnlessTheConnectionComesFromATrustedProxy() {
+        assertThat(resolver.resolve("203.0.113.7", "198.51.100.1")).isEqualTo("203.0.113.7");
+        assertThat(resolver.resolve("10.1.2.3", null)).isEqualTo("10.1.2.3");
+    }
+
+    @Test
+    void clientIsTheRightMostHopThatIsNotATrustedProxy() {
+        assertThat(resolver.resolve("10.1.2.3", "198.51.100.1")).isEqualTo("198.51.100.1");
+        assertThat(resolver.resolve("10.1.2.3", "6.6.6.6, 198.51.100.1, 192.168.1.5")).isEqualTo("198.51.100.1");
+        assertThat(resolver.resolve("192.168.1.5", "198.51.100.1, ,10.0.0.4")).isEqualTo("198.51.100.1");
+    }
+
+    @Test
+    void spoofedHostNamesAreNeverTrusted() {
+        assertThat(resolver.resolve("10.1.2.3", "10.0.0.1, localhost")).isEqualTo("localhost");
+        assertThat(resolver.resolve("192.168.1.6", "198.51.100.1")).isEqualTo("192.168.1.6");
+    }
+
+    @Test
+    void invalidTrustedProxiesAreRejected() {
+        assertThatThrownBy(() -> new ClientAddressResolver(List.of("proxy.internal")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ClientAddressResolver(List.of("10.0.0.0/33")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,135 @@
+package com.unicovoit.service;
+
+import com.unicovoit.ServiceTestApplication;
+import com.unicovoit.TestData;
+import com.unicovoit.entity.Booking;
+import com.unicovoit.entity.Message;
+import com.unicovoit.entity.Ride;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The named entity graphs must load everything a view touches in the query itself. Associations are read after
+ * the service transaction has ended, so a missing attribute fails with a LazyInitializationException and an
+ * extra query shows up in the statement count.
+ */
+@SpringBootTest(classes = ServiceTestApplication.class)
+@ActiveProfiles("test")
+class EntityGraphStatementCountTest {
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestData data;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(jdbcTemplate);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void rideDetailLoadsDriverVehicleAndWaypointsInOneStatement() {
+        long driverId = data.user();
+        long rideId = data.ride(driverId, data.vehicle(driverId, 4), "Paris", "Lyon",
+                LocalDateTime.now().plusDays(2), 4);
+        data.waypoints(rideId, "Auxerre", "Dijon", "Mâcon");
+
+        statistics.clear();
+        Ride ride = rideService.getRideById(rideId);
+
+        assertThat(ride.getDriver().getFirstName()).isNotBlank();
+        assertThat(ride.getVehicle().getBrand()).isEqualTo("Renault");
+        assertThat(ride.getWaypointCities()).containsExactly("Auxerre", "Dijon", "Mâcon");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void passengerBookingsLoadRideDriverAndPassengerInOneStatement() {
+        long passengerId = data.user();
+        for (int i = 0; i < 5; i++) {
+            long driverId = data.user();
+            long rideId = data.ride(driverId, data.vehicle(driverId, 4), "Lyon", "Grenoble",
+                    LocalDateTime.now().plusDays(i + 1), 4);
+            data.booking(rideId, passengerId, 1);
+        }
+
+        statistics.clear();
+        List<Booking> bookings = bookingService.getPassengerBookings(passengerId);
+
+        assertThat(bookings).hasSize(5);
+        for (Booking booking : bookings) {
+            assertThat(booking.getRide().getDriver().getLastName()).isNotBlank();
+            assertThat(booking.getPassenger().getId()).isEqualTo(passengerId);
+            assertThat(booking.getPassenger().getEmail()).isNotBlank();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void driverBookingsLoadRideDriverAndPassengersInOneStatement() {
+        long driverId = data.user();
+        long vehicleId = data.vehicle(driverId, 4);
+        for (int i = 0; i < 3; i++) {
+            long rideId = data.ride(driverId, vehicleId, "Nantes", "Rennes", LocalDateTime.now().plusDays(i + 1), 4);
+            data.booking(rideId, data.user(), 1);
+            data.booking(rideId, data.user(), 2);
+        }
+
+        statistics.clear();
+        List<Booking> bookings = bookingService.getDriverBookings(driverId);
+
+        assertThat(bookings).hasSize(6);
+        for (Booking booking : bookings) {
+            assertThat(booking.getRide().getDriver().getId()).isEqualTo(driverId);
+            assertThat(booking.getRide().getDriver().getFirstName()).isNotBlank();
+            assertThat(booking.getPassenger().getLastName()).isNotBlank();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void conversationPageLoadsSenderAndReceiverInOneStatement() {
+        long alice = data.user();
+        long bob = data.user();
+        LocalDateTime sentAt = LocalDateTime.now().minusHours(1);
+        for (int i = 0; i < 20; i++) {
+            data.message(i % 2 == 0 ? alice : bob, i % 2 == 0 ? bob : alice, sentAt.plusMinutes(i), true);
+        }
+
+        statistics.clear();
+        List<Message> page = messageService.getConversationPage(alice, bob, null, 10);
+
+        assertThat(page).hasSize(10);
+        for (Message message : page) {
+            assertThat(message.getSender().getFirstName()).isNotBlank();
+            assertThat(message.getReceiver().getFirstName()).isNotBlank();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
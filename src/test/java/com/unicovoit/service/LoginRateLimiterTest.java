@@ -0,0 +1,68 @@
+package com.unicovoit.service;
+
+import com.unicovoit.exception.AuthenticationException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+    private static final String EMAIL = "victime@university.fr";
+
+    private final LoginRateLimiter limiter = new LoginRateLimiter(3, 1, 5, 1, 30);
+
+    @Test
+    void emailOverItsLimitIsRefusedFromNewAddresses() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(EMAIL, "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> limiter.acquire(EMAIL, "10.0.1.1"))
+                .isInstanceOf(AuthenticationException.class);
+        assertThatThrownBy(() -> limiter.acquire(EMAIL.toUpperCase(), "10.0.1.2"))
+                .isInstanceOf(AuthenticationException.class);
+        assertThat(limiter.getThrottledByEmailCount()).isEqualTo(2);
+    }
+
+    @Test
+    void emailOverItsLimitStillLetsItsKnownAddressesThrough() {
+        limiter.acquire(EMAIL, "192.168.1.10");
+        limiter.reset(EMAIL, "192.168.1.10");
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(EMAIL, "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> limiter.acquire(EMAIL, "10.0.1.1"))
+                .isInstanceOf(AuthenticationException.class);
+        assertThatCode(() -> limiter.acquire(EMAIL, "192.168.1.10")).doesNotThrowAnyException();
+        assertThat(limiter.getAllowedFromKnownAddressCount()).isEqualTo(1);
+    }
+
+    @Test
+    void successfulLoginClearsTheEmailLimit() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(EMAIL, "10.0.0." + i);
+        }
+
+        limiter.reset(EMAIL, "10.0.0.2");
+
+        assertThatCode(() -> limiter.acquire(EMAIL, "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void addressOverItsLimitIsRefusedWithoutSpendingTheEmailBucket() {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("user" + i + "@university.fr", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> limiter.acquire(EMAIL, "10.0.0.1"))
+                .isInstanceOf(AuthenticationException.class);
+        assertThat(limiter.getThrottledByAddressCount()).isEqualTo(1);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(EMAIL, "10.0.0." + (i + 2));
+        }
+    }
+}
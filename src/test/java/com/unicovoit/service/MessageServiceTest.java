@@ -0,0 +1,139 @@
+package com.unicovoit.service;
+
+import com.unicovoit.ServiceTestApplication;
+import com.unicovoit.TestData;
+import com.unicovoit.dto.ConversationSummaryDto;
+import com.unicovoit.entity.Message;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ServiceTestApplication.class)
+@ActiveProfiles("test")
+class MessageServiceTest {
+
+    private static final int BACKLOG = 1_000;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestData data;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(jdbcTemplate);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void markConversationAsReadFlipsTheWholeBacklogInOneStatement() {
+        long sender = data.user();
+        long receiver = data.user();
+        long otherSender = data.user();
+        data.messages(sender, receiver, BACKLOG, false);
+        data.messages(otherSender, receiver, 10, false);
+
+        statistics.clear();
+        int updated = messageService.markConversationAsRead(sender, TestData.sessionUser(receiver));
+
+        assertThat(updated).isEqualTo(BACKLOG);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(unread(sender, receiver)).isZero();
+        assertThat(unread(otherSender, receiver)).isEqualTo(10);
+    }
+
+    @Test
+    void conversationSummariesShowTheLatestMessageAndUnreadCountPerPartner() {
+        long user = data.user();
+        long alice = data.user();
+        long bob = data.user();
+        long carol = data.user();
+        LocalDateTime t = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        data.message(alice, user, t, false);
+        data.message(user, alice, t.plusMinutes(1), false);
+        data.message(alice, user, t.plusMinutes(2), false);
+        data.message(user, bob, t.plusMinutes(3), false);
+        data.message(bob, user, t.plusMinutes(4), true);
+        data.message(user, bob, t.plusMinutes(5), false);
+        data.message(carol, user, t.plusMinutes(6), true);
+        long tie = data.message(carol, user, t.plusMinutes(6), false);
+        data.message(alice, bob, t.plusMinutes(7), false);
+
+        List<ConversationSummaryDto> summaries =
+                messageService.getConversationSummaries(user, PageRequest.of(0, 10));
+
+        assertThat(summaries).extracting(ConversationSummaryDto::getPartnerId).containsExactly(carol, bob, alice);
+
+        ConversationSummaryDto withCarol = summaries.get(0);
+        assertThat(withCarol.getLastSenderId()).isEqualTo(carol);
+        assertThat(withCarol.getUnreadCount()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT content FROM message WHERE id = ?", String.class, tie))
+                .isEqualTo(withCarol.getLastContent());
+
+        ConversationSummaryDto withBob = summaries.get(1);
+        assertThat(withBob.getLastSenderId()).isEqualTo(user);
+        assertThat(withBob.getLastSentAt()).isEqualTo(t.plusMinutes(5));
+        assertThat(withBob.getUnreadCount()).isZero();
+
+        ConversationSummaryDto withAlice = summaries.get(2);
+        assertThat(withAlice.getLastSenderId()).isEqualTo(alice);
+        assertThat(withAlice.getUnreadCount()).isEqualTo(2);
+
+        assertThat(messageService.getConversationSummaries(user, PageRequest.of(0, 2)))
+                .extracting(ConversationSummaryDto::getPartnerId).containsExactly(carol, bob);
+    }
+
+    @Test
+    void conversationPagesWalkBothDirectionsInOrder() {
+        long alice = data.user();
+        long bob = data.user();
+        long carol = data.user();
+        LocalDateTime t = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Bursts from one side, then the other, with a shared timestamp every few messages
+            boolean fromAlice = (i / 4) % 2 == 0;
+            expected.add(data.message(fromAlice ? alice : bob, fromAlice ? bob : alice, t.plusMinutes(i / 3), true));
+            data.message(carol, alice, t.plusMinutes(i), true);
+        }
+
+        List<Long> loaded = new ArrayList<>();
+        List<Message> page = messageService.getConversationPage(alice, bob, null, 10);
+        while (!page.isEmpty()) {
+            List<Long> ids = page.stream().map(Message::getId).toList();
+            loaded.addAll(0, ids);
+            page = page.size() < 10 ? List.of() : messageService.getConversationPage(alice, bob, page.get(0), 10);
+        }
+
+        assertThat(loaded).containsExactlyElementsOf(expected);
+    }
+
+    private int unread(long senderId, long receiverId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM message WHERE sender_id = ? AND receiver_id = ? AND is_read = FALSE",
+                Integer.class, senderId, receiverId);
+    }
+}
@@ -0,0 +1,59 @@
+package com.unicovoit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    private static final String PASSWORD = "Un mot de passe 2024";
+
+    private final PasswordEncoder passwordEncoder =
+            new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(5)));
+    private final PasswordHasher passwordHasher = new PasswordHasher(passwordEncoder, 1, 4);
+
+    @AfterEach
+    void shutdown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void newHashesAreReadableByTheApplicationEncoder() {
+        String hash = passwordHasher.encode(PASSWORD).join();
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.matches(PASSWORD, hash)).isTrue();
+        assertThat(passwordHasher.matches(PASSWORD, hash).join()).isTrue();
+    }
+
+    @Test
+    void queueWaitAndHashTimeAreRecordedPerHash() {
+        String hash = passwordHasher.encode(PASSWORD).join();
+        passwordHasher.matches(PASSWORD, hash).join();
+
+        assertThat(passwordHasher.getCompletedCount()).isEqualTo(2);
+        assertThat(passwordHasher.getRejectedCount()).isZero();
+        assertThat(passwordHasher.getAverageHashMillis()).isPositive();
+        assertThat(passwordHasher.getAverageQueueWaitMillis()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void prefixedHashAtTheConfiguredCostIsNotRehashed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+
+        assertThat(passwordHasher.needsRehash(hash)).isFalse();
+    }
+
+    @Test
+    void weakerOrUnprefixedHashesAreRehashed() {
+        assertThat(passwordHasher.needsRehash("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD))).isTrue();
+        assertThat(passwordHasher.needsRehash(new BCryptPasswordEncoder(5).encode(PASSWORD))).isTrue();
+        assertThat(passwordHasher.needsRehash(null)).isTrue();
+    }
+}
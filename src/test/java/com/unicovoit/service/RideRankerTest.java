@@ -0,0 +1,44 @@
+package com.unicovoit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RideRankerTest {
+
+    private static final LocalDateTime TARGET = LocalDateTime.of(2026, 5, 4, 9, 0);
+
+    @Test
+    void timeScoreIsRelativeToTheRequestedWindow() {
+        // 8:00-10:00 on one day: half an hour off is half the window, worth more than a 10 euro saving
+        RideRanker<String> ranker = new RideRanker<>(2, TARGET, 0, Duration.ofHours(2));
+        ranker.offer("cheaper, 9:30", TARGET.plusMinutes(30), BigDecimal.valueOf(50), 4);
+        ranker.offer("on time", TARGET, BigDecimal.valueOf(60), 4);
+
+        assertThat(ranker.result()).containsExactly("on time", "cheaper, 9:30");
+    }
+
+    @Test
+    void flexibleDaysWidenTheWindow() {
+        // Same rides over ±2 days: half an hour off barely counts, the price decides
+        RideRanker<String> ranker = new RideRanker<>(2, TARGET, 2, Duration.ofHours(2));
+        ranker.offer("cheaper, 9:30", TARGET.plusMinutes(30), BigDecimal.valueOf(50), 4);
+        ranker.offer("on time", TARGET, BigDecimal.valueOf(60), 4);
+
+        assertThat(ranker.result()).containsExactly("cheaper, 9:30", "on time");
+    }
+
+    @Test
+    void keepsOnlyTheBestLimit() {
+        RideRanker<Integer> ranker = new RideRanker<>(3, TARGET, 0, Duration.ofDays(1));
+        for (int price = 10; price <= 100; price += 10) {
+            ranker.offer(price, TARGET, BigDecimal.valueOf(price), 4);
+        }
+
+        assertThat(ranker.result()).containsExactly(10, 20, 30);
+    }
+}
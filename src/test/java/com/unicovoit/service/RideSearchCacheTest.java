@@ -0,0 +1,64 @@
+package com.unicovoit.service;
+
+import com.unicovoit.dto.RideSummary;
+import com.unicovoit.entity.Ride;
+import com.unicovoit.entity.Waypoint;
+import com.unicovoit.util.CityNormalizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RideSearchCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    private final AtomicInteger searches = new AtomicInteger();
+    private final Supplier<List<RideSummary>> search = () -> {
+        searches.incrementAndGet();
+        return List.of();
+    };
+
+    @Test
+    @Timeout(5)
+    void nonPositiveMaxEntriesDisablesCaching() {
+        RideSearchCache cache = new RideSearchCache(0, 120);
+
+        cache.get("Paris", "Lyon", DAY, search);
+        cache.get("Paris", "Lyon", DAY, search);
+
+        assertThat(searches).hasValue(2);
+        assertThat(cache.getSize()).isZero();
+    }
+
+    @Test
+    void rideChangeDropsOnlyTheSearchesItCanAppearIn() {
+        RideSearchCache cache = new RideSearchCache(100, 120);
+        cache.get("Saint-Étienne", "Rennes", DAY, search);
+        cache.get("Saint", "Rennes", DAY, search);
+        cache.get("Lyon", "Saint-Malo", DAY, search);
+        cache.get("Rennes", "Lyon", DAY, search);
+        cache.get("Saint", "Rennes", DAY.plusDays(1), search);
+
+        cache.invalidate(ride("Saint-Étienne", List.of("Lyon", "Saint-Malo"), "Rennes"));
+
+        assertThat(cache.getSize()).isEqualTo(2);
+        cache.get("Rennes", "Lyon", DAY, search);
+        cache.get("Saint", "Rennes", DAY.plusDays(1), search);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+    private static Ride ride(String departureCity, List<String> waypoints, String arrivalCity) {
+        Ride ride = new Ride();
+        ride.setDepartureCity(departureCity);
+        ride.setWaypoints(waypoints.stream().map(city -> new Waypoint(city, CityNormalizer.normalize(city))).toList());
+        ride.setArrivalCity(arrivalCity);
+        ride.setDepartureDateTime(DAY.atTime(8, 30));
+        return ride;
+    }
+}
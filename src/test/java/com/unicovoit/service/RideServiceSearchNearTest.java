@@ -0,0 +1,94 @@
+package com.unicovoit.service;
+
+import com.unicovoit.ServiceTestApplication;
+import com.unicovoit.TestData;
+import com.unicovoit.dto.RideSearchRequestDto;
+import com.unicovoit.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ServiceTestApplication.class)
+@ActiveProfiles("test")
+class RideServiceSearchNearTest {
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private RideSearchIndex rideSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate day = LocalDate.now().plusDays(3);
+    private long rideId;
+
+    @BeforeEach
+    void setUp() {
+        TestData data = new TestData(jdbcTemplate);
+        long driverId = data.user();
+        rideId = data.ride(driverId, data.vehicle(driverId, 4), "Rennes", "Saint-Malo", day.atTime(18, 0), 3);
+        data.waypoints(rideId, "Dinan");
+        rideSearchIndex.rebuild();
+    }
+
+    @Test
+    void arrivalCityMatchesStopsByPrefix() {
+        assertThat(searchNear("Rennes", "Saint-Malo", day)).contains(rideId);
+        assertThat(searchNear("Rennes", "saint", day)).contains(rideId);
+        assertThat(searchNear("Rennes", "Din", day)).contains(rideId);
+        assertThat(searchNear("Rennes", "Rennes", day)).doesNotContain(rideId);
+    }
+
+    @Test
+    void dayAndTimeWindowsAndLimitApply() {
+        TestData data = new TestData(jdbcTemplate);
+        long driverId = data.user();
+        long vehicleId = data.vehicle(driverId, 4);
+        long nextDayId = data.ride(driverId, vehicleId, "Rennes", "Saint-Malo", day.plusDays(1).atTime(18, 30), 3);
+        long morningId = data.ride(driverId, vehicleId, "Rennes", "Saint-Malo", day.atTime(7, 0), 3);
+        rideSearchIndex.rebuild();
+
+        RideSearchRequestDto dto = request("Rennes", "Saint-Malo", day);
+        dto.setFlexibleDays(1);
+        dto.setDepartureTimeFrom(LocalTime.of(17, 0));
+        dto.setDepartureTimeTo(LocalTime.of(19, 0));
+        List<Long> found = rideService.searchRidesNear(dto).stream().map(nearby -> nearby.ride().id()).toList();
+        assertThat(found).contains(rideId, nextDayId).doesNotContain(morningId);
+
+        dto.setLimit(1);
+        assertThat(rideService.searchRidesNear(dto)).hasSize(1);
+    }
+
+    @Test
+    void pastDaysAreRejectedInsteadOfReturningNothing() {
+        assertThatThrownBy(() -> searchNear("Rennes", "Saint-Malo", LocalDate.now().minusDays(1)))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private List<Long> searchNear(String departureCity, String arrivalCity, LocalDate date) {
+        return rideService.searchRidesNear(request(departureCity, arrivalCity, date)).stream()
+                .map(nearby -> nearby.ride().id())
+                .toList();
+    }
+
+    private static RideSearchRequestDto request(String departureCity, String arrivalCity, LocalDate date) {
+        RideSearchRequestDto dto = new RideSearchRequestDto();
+        dto.setDepartureCity(departureCity);
+        dto.setArrivalCity(arrivalCity);
+        dto.setDate(date);
+        dto.setRadiusKm(10);
+        return dto;
+    }
+}
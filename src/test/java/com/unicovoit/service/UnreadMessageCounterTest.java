@@ -0,0 +1,118 @@
+package com.unicovoit.service;
+
+import com.unicovoit.ServiceTestApplication;
+import com.unicovoit.TestData;
+import com.unicovoit.dao.MessageDao;
+import com.unicovoit.dto.SendMessageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ServiceTestApplication.class)
+@ActiveProfiles("test")
+class UnreadMessageCounterTest {
+
+    @Autowired
+    private UnreadMessageCounter unreadMessageCounter;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MessageDao messageDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TestData data;
+
+    @BeforeEach
+    void setUp() {
+        data = new TestData(jdbcTemplate);
+    }
+
+    /**
+     * A miss served between the database commit and the delta being applied already sees the new message;
+     * caching it and then applying the delta would count the message twice
+     */
+    @Test
+    void missDuringCommitIsNotCountedTwice() {
+        long sender = data.user();
+        long receiver = data.user();
+        data.message(sender, receiver, LocalDateTime.now().minusMinutes(5), false);
+        data.message(sender, receiver, LocalDateTime.now().minusMinutes(4), false);
+        unreadMessageCounter.evict(receiver);
+
+        AtomicLong seenDuringCommit = new AtomicLong(-1);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Registered before MessageService's synchronizations, so it runs first once the commit is done
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    seenDuringCommit.set(CompletableFuture.supplyAsync(() -> unreadMessageCounter.get(receiver))
+                            .join());
+                }
+            });
+
+            SendMessageDto dto = new SendMessageDto();
+            dto.setReceiverId(receiver);
+            dto.setContent("Toujours d'accord pour demain ?");
+            messageService.sendMessage(dto, TestData.sessionUser(sender));
+        });
+
+        assertThat(seenDuringCommit.get()).isEqualTo(3);
+        assertThat(unreadMessageCounter.get(receiver)).isEqualTo(3);
+        assertThat(unreadMessageCounter.get(receiver)).isEqualTo(messageDao.countByReceiverIdAndReadFalse(receiver));
+    }
+
+    @Test
+    void cachedCountFollowsCommittedChangesOnly() {
+        long sender = data.user();
+        long receiver = data.user();
+        data.messages(sender, receiver, 4, false);
+        unreadMessageCounter.evict(receiver);
+        assertThat(unreadMessageCounter.get(receiver)).isEqualTo(4);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            messageService.markConversationAsRead(sender, TestData.sessionUser(receiver));
+            status.setRollbackOnly();
+        });
+        assertThat(unreadMessageCounter.get(receiver)).isEqualTo(4);
+
+        long hits = unreadMessageCounter.getHitCount();
+        messageService.markConversationAsRead(sender, TestData.sessionUser(receiver));
+        assertThat(unreadMessageCounter.get(receiver)).isZero();
+        assertThat(unreadMessageCounter.getHitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void cacheStaysWithinItsBound() {
+        UnreadMessageCounter counter = new UnreadMessageCounter(messageDao, 3, 300);
+        for (int i = 0; i < 10; i++) {
+            counter.get(data.user());
+        }
+        assertThat(counter.getCachedReceiverCount()).isEqualTo(3);
+
+        UnreadMessageCounter disabled = new UnreadMessageCounter(messageDao, 0, 300);
+        long receiver = data.user();
+        disabled.get(receiver);
+        disabled.get(receiver);
+        assertThat(disabled.getCachedReceiverCount()).isZero();
+        assertThat(disabled.getHitCount()).isZero();
+    }
+}
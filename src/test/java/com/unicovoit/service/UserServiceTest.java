@@ -0,0 +1,72 @@
+package com.unicovoit.service;
+
+import com.unicovoit.ServiceTestApplication;
+import com.unicovoit.dao.UserAccountDao;
+import com.unicovoit.dto.RegisterRequestDto;
+import com.unicovoit.entity.UserAccount;
+import com.unicovoit.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ServiceTestApplication.class)
+@ActiveProfiles("test")
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserAccountDao userAccountDao;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void registrationIsSavedInItsOwnTransaction() {
+        RegisterRequestDto dto = registration();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            UserAccount user = userService.registerStudentAsync(dto).join();
+            assertThat(user.getId()).isNotNull();
+            status.setRollbackOnly();
+        });
+
+        assertThat(userAccountDao.existsByEmail(dto.getEmail())).isTrue();
+    }
+
+    @Test
+    void duplicateEmailIsRejectedBeforeHashing() {
+        RegisterRequestDto dto = registration();
+        userService.registerStudentAsync(dto).join();
+        long hashed = passwordHasher.getCompletedCount();
+
+        assertThat(userService.registerStudentAsync(dto))
+                .failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(ValidationException.class);
+        assertThat(passwordHasher.getCompletedCount()).isEqualTo(hashed);
+    }
+
+    private static RegisterRequestDto registration() {
+        RegisterRequestDto dto = new RegisterRequestDto();
+        dto.setFirstName("Camille");
+        dto.setLastName("Martin");
+        dto.setEmail("camille." + UUID.randomUUID() + "@test.unicovoit.fr");
+        dto.setUniversity("Université test");
+        dto.setPassword("Un mot de passe 2024");
+        dto.setConfirmPassword("Un mot de passe 2024");
+        return dto;
+    }
+}